@@ -38,13 +38,15 @@ public class NewsController {
 
     @GetMapping("/category")
     public ResponseEntity<NewsQueryResponse> byCategory(@RequestParam String category,
-                                                        @RequestParam(required = false) Integer limit) {
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String cursor) {
         NewsQueryRequest request = new NewsQueryRequest(
             "category:" + category,
             null,
             limit,
             null,
-            null
+            null,
+            cursor
         );
         ParsedQuery parsedQuery = ParsedQuery.create(
             List.of(),
@@ -59,13 +61,15 @@ public class NewsController {
 
     @GetMapping("/source")
     public ResponseEntity<NewsQueryResponse> bySource(@RequestParam String source,
-                                                      @RequestParam(required = false) Integer limit) {
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor) {
         NewsQueryRequest request = new NewsQueryRequest(
             "source:" + source,
             null,
             limit,
             null,
-            null
+            null,
+            cursor
         );
         ParsedQuery parsedQuery = ParsedQuery.create(
             List.of(),
@@ -80,14 +84,16 @@ public class NewsController {
 
     @GetMapping("/score")
     public ResponseEntity<NewsQueryResponse> byScore(@RequestParam double threshold,
-                                                     @RequestParam(required = false) Integer limit) {
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
         double clamped = Math.max(0.0, Math.min(threshold, 1.0));
         NewsQueryRequest request = new NewsQueryRequest(
             "score >= " + clamped,
             null,
             limit,
             null,
-            clamped
+            clamped,
+            cursor
         );
         ParsedQuery parsedQuery = ParsedQuery.create(
             List.of(),
@@ -102,13 +108,15 @@ public class NewsController {
 
     @GetMapping("/search")
     public ResponseEntity<NewsQueryResponse> search(@RequestParam String query,
-                                                    @RequestParam(required = false) Integer limit) {
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor) {
         NewsQueryRequest request = new NewsQueryRequest(
             query,
             null,
             limit,
             null,
-            null
+            null,
+            cursor
         );
         ParsedQuery parsedQuery = ParsedQuery.create(
             List.of(),
@@ -125,14 +133,16 @@ public class NewsController {
     public ResponseEntity<NewsQueryResponse> nearby(@RequestParam double lat,
                                                     @RequestParam double lon,
                                                     @RequestParam(required = false) Double radiusKm,
-                                                    @RequestParam(required = false) Integer limit) {
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor) {
         NewsQueryRequest.Location location = new NewsQueryRequest.Location(lat, lon);
         NewsQueryRequest request = new NewsQueryRequest(
             "nearby:" + lat + "," + lon,
             location,
             limit,
             radiusKm,
-            null
+            null,
+            cursor
         );
         double resolvedRadius = radiusKm != null ? radiusKm : request.resolvedRadiusKm();
         ParsedQuery parsedQuery = ParsedQuery.create(
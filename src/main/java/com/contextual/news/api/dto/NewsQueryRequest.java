@@ -20,9 +20,16 @@ public record NewsQueryRequest(
     Double radiusKm,
     @DecimalMin("0.0")
     @DecimalMax("1.0")
-    Double scoreThreshold
+    Double scoreThreshold,
+    @Size(max = 200)
+    String cursor
 ) {
 
+    public NewsQueryRequest(String query, Location userLocation, Integer maxResults, Double radiusKm,
+                            Double scoreThreshold) {
+        this(query, userLocation, maxResults, radiusKm, scoreThreshold, null);
+    }
+
     public int resolvedLimit() {
         return maxResults != null ? Math.min(maxResults, 50) : 10;
     }
@@ -4,9 +4,13 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * @param nextCursor pass back as {@code cursor} for the articles after this page; {@code null} on the last page
+ */
 public record NewsQueryResponse(
     QueryMetadata metadata,
-    List<ArticleResult> articles
+    List<ArticleResult> articles,
+    String nextCursor
 ) {
 
     public record QueryMetadata(
@@ -1,5 +1,6 @@
 package com.contextual.news.api.error;
 
+import com.contextual.news.service.model.PageCursor;
 import java.time.OffsetDateTime;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(PageCursor.InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(PageCursor.InvalidCursorException ex) {
+        Map<String, Object> body = Map.of(
+            "timestamp", OffsetDateTime.now().toString(),
+            "status", HttpStatus.BAD_REQUEST.value(),
+            "error", "Invalid cursor",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         Map<String, Object> body = Map.of(
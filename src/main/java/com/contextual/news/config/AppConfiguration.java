@@ -7,6 +7,7 @@ import io.netty.handler.timeout.WriteTimeoutHandler;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -14,6 +15,7 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
@@ -68,4 +70,31 @@ public class AppConfiguration {
         ));
         return cacheManager;
     }
+
+    @Bean
+    public ThreadPoolTaskExecutor retrievalExecutor(AppProperties properties) {
+        AppProperties.RetrievalProperties retrieval = properties.retrieval();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(retrieval.getMaxConcurrency());
+        executor.setMaxPoolSize(retrieval.getMaxConcurrency());
+        executor.setQueueCapacity(retrieval.getQueueCapacity());
+        executor.setThreadNamePrefix("retrieval-");
+        // a task run on the request thread would not be bounded by its deadline; a rejected one contributes nothing
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor enrichmentExecutor(AppProperties properties) {
+        AppProperties.EnrichmentProperties enrichment = properties.enrichment();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrichment.getMaxConcurrency());
+        executor.setMaxPoolSize(enrichment.getMaxConcurrency());
+        executor.setQueueCapacity(enrichment.getQueueCapacity());
+        executor.setThreadNamePrefix("enrichment-");
+        // rejected work is not run on the request thread: its articles get the rule-based enrichment instead
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
 }
@@ -1,9 +1,13 @@
 package com.contextual.news.config;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -15,6 +19,12 @@ public class AppProperties {
     private final LlmProperties llm = new LlmProperties();
     private final EnrichmentProperties enrichment = new EnrichmentProperties();
     private final RankingProperties ranking = new RankingProperties();
+    private final RetrievalProperties retrieval = new RetrievalProperties();
+    private final SearchProperties search = new SearchProperties();
+    private final NearbyProperties nearby = new NearbyProperties();
+    private final PartitioningProperties partitioning = new PartitioningProperties();
+    private final ReplicaProperties datasource = new ReplicaProperties();
+    private final EntityCacheProperties entityCache = new EntityCacheProperties();
 
     public DataProperties data() {
         return data;
@@ -32,6 +42,71 @@ public class AppProperties {
         return ranking;
     }
 
+    public RetrievalProperties retrieval() {
+        return retrieval;
+    }
+
+    public SearchProperties search() {
+        return search;
+    }
+
+    public NearbyProperties nearby() {
+        return nearby;
+    }
+
+    public PartitioningProperties partitioning() {
+        return partitioning;
+    }
+
+    public ReplicaProperties datasource() {
+        return datasource;
+    }
+
+    public EntityCacheProperties entityCache() {
+        return entityCache;
+    }
+
+    // JavaBean getters so the binder can reach the nested groups; code uses the short accessors above
+    public DataProperties getData() {
+        return data;
+    }
+
+    public LlmProperties getLlm() {
+        return llm;
+    }
+
+    public EnrichmentProperties getEnrichment() {
+        return enrichment;
+    }
+
+    public RankingProperties getRanking() {
+        return ranking;
+    }
+
+    public RetrievalProperties getRetrieval() {
+        return retrieval;
+    }
+
+    public SearchProperties getSearch() {
+        return search;
+    }
+
+    public NearbyProperties getNearby() {
+        return nearby;
+    }
+
+    public PartitioningProperties getPartitioning() {
+        return partitioning;
+    }
+
+    public ReplicaProperties getDatasource() {
+        return datasource;
+    }
+
+    public EntityCacheProperties getEntityCache() {
+        return entityCache;
+    }
+
     @Validated
     public static class DataProperties {
         @NotBlank
@@ -80,6 +155,13 @@ public class AppProperties {
 
         private List<String> intentsSchema;
 
+        // callers within one cell share cached query understanding; about 5.5 km of latitude
+        private double queryLocationCellDegrees = 0.05;
+
+        private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+        private final AdaptiveTimeoutProperties adaptiveTimeout = new AdaptiveTimeoutProperties();
+
         public String getProvider() {
             return provider;
         }
@@ -164,6 +246,167 @@ public class AppProperties {
         public void setIntentsSchema(List<String> intentsSchema) {
             this.intentsSchema = intentsSchema;
         }
+
+        public double getQueryLocationCellDegrees() {
+            return queryLocationCellDegrees;
+        }
+
+        public void setQueryLocationCellDegrees(double queryLocationCellDegrees) {
+            this.queryLocationCellDegrees = queryLocationCellDegrees;
+        }
+
+        public CircuitBreakerProperties getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public AdaptiveTimeoutProperties getAdaptiveTimeout() {
+            return adaptiveTimeout;
+        }
+
+        public static class CircuitBreakerProperties {
+            private boolean enabled = true;
+            // provider calls whose outcomes decide whether the circuit opens
+            @Min(1)
+            private int windowSize = 20;
+            @Min(1)
+            private int minimumCalls = 10;
+            private double failureRateThreshold = 0.5;
+            private double slowCallRateThreshold = 0.8;
+            @NotNull
+            private Duration slowCallDuration = Duration.ofSeconds(5);
+            // how long an open circuit sends every call to the rule-based client before probing
+            @NotNull
+            private Duration openDuration = Duration.ofSeconds(30);
+            @Min(1)
+            private int halfOpenProbes = 3;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getWindowSize() {
+                return windowSize;
+            }
+
+            public void setWindowSize(int windowSize) {
+                this.windowSize = windowSize;
+            }
+
+            public int getMinimumCalls() {
+                return minimumCalls;
+            }
+
+            public void setMinimumCalls(int minimumCalls) {
+                this.minimumCalls = minimumCalls;
+            }
+
+            public double getFailureRateThreshold() {
+                return failureRateThreshold;
+            }
+
+            public void setFailureRateThreshold(double failureRateThreshold) {
+                this.failureRateThreshold = failureRateThreshold;
+            }
+
+            public double getSlowCallRateThreshold() {
+                return slowCallRateThreshold;
+            }
+
+            public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+                this.slowCallRateThreshold = slowCallRateThreshold;
+            }
+
+            public Duration getSlowCallDuration() {
+                return slowCallDuration;
+            }
+
+            public void setSlowCallDuration(Duration slowCallDuration) {
+                this.slowCallDuration = slowCallDuration;
+            }
+
+            public Duration getOpenDuration() {
+                return openDuration;
+            }
+
+            public void setOpenDuration(Duration openDuration) {
+                this.openDuration = openDuration;
+            }
+
+            public int getHalfOpenProbes() {
+                return halfOpenProbes;
+            }
+
+            public void setHalfOpenProbes(int halfOpenProbes) {
+                this.halfOpenProbes = halfOpenProbes;
+            }
+        }
+
+        public static class AdaptiveTimeoutProperties {
+            private boolean enabled = true;
+            // recent successful calls per operation the percentile is taken over
+            @Min(1)
+            private int window = 100;
+            // below this many samples the fixed request-timeout applies
+            @Min(1)
+            private int minimumSamples = 10;
+            private double percentile = 0.99;
+            private double multiplier = 2.0;
+            // the fixed request-timeout is the upper bound
+            @NotNull
+            private Duration minimum = Duration.ofSeconds(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getWindow() {
+                return window;
+            }
+
+            public void setWindow(int window) {
+                this.window = window;
+            }
+
+            public int getMinimumSamples() {
+                return minimumSamples;
+            }
+
+            public void setMinimumSamples(int minimumSamples) {
+                this.minimumSamples = minimumSamples;
+            }
+
+            public double getPercentile() {
+                return percentile;
+            }
+
+            public void setPercentile(double percentile) {
+                this.percentile = percentile;
+            }
+
+            public double getMultiplier() {
+                return multiplier;
+            }
+
+            public void setMultiplier(double multiplier) {
+                this.multiplier = multiplier;
+            }
+
+            public Duration getMinimum() {
+                return minimum;
+            }
+
+            public void setMinimum(Duration minimum) {
+                this.minimum = minimum;
+            }
+        }
     }
 
     @Validated
@@ -171,6 +414,18 @@ public class AppProperties {
         private int topN = 5;
         @NotNull
         private Duration cacheTtl = Duration.ofMinutes(15);
+        // articles per enrichment call; one call for the whole top N by default
+        @Min(1)
+        private int batchSize = 5;
+        // concurrent enrichment calls per response; the executor bounds them across responses
+        @Min(1)
+        private int parallelism = 5;
+        // how long a response waits for enrichment before the rule-based one fills in
+        @NotNull
+        private Duration deadline = Duration.ofSeconds(3);
+        @Min(1)
+        private int maxConcurrency = 16;
+        private int queueCapacity = 100;
 
         public int getTopN() {
             return topN;
@@ -187,6 +442,46 @@ public class AppProperties {
         public void setCacheTtl(Duration cacheTtl) {
             this.cacheTtl = cacheTtl;
         }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public Duration getDeadline() {
+            return deadline;
+        }
+
+        public void setDeadline(Duration deadline) {
+            this.deadline = deadline;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
     }
 
     @Validated
@@ -237,4 +532,396 @@ public class AppProperties {
             this.recencyHalfLifeDays = recencyHalfLifeDays;
         }
     }
+
+    @Validated
+    public static class RetrievalProperties {
+        public enum ExecutionMode {
+            SEQUENTIAL,
+            CONCURRENT,
+            COMBINED
+        }
+
+        public enum Ordering {
+            RELEVANCE,
+            RANKING
+        }
+
+        @NotNull
+        private ExecutionMode mode = ExecutionMode.CONCURRENT;
+        @NotNull
+        private Ordering ordering = Ordering.RELEVANCE;
+        @Min(1)
+        private int fetchMultiplier = 3;
+        @Min(1)
+        private int rankedFetchMultiplier = 1;
+        private boolean adaptiveFetch = false;
+        private double minFetchMultiplier = 1.0;
+        private double maxFetchMultiplier = 5.0;
+        private double fetchDepthHeadroom = 1.5;
+        private double fetchDepthSmoothing = 0.2;
+        // zero disables the recency lower bound
+        @NotNull
+        private Duration recencyWindow = Duration.ofDays(7);
+        private int maxConcurrency = 8;
+        private int queueCapacity = 200;
+        @NotNull
+        private Duration strategyTimeout = Duration.ofSeconds(2);
+        private Map<String, Duration> strategyTimeouts = new HashMap<>();
+
+        public ExecutionMode getMode() {
+            return mode;
+        }
+
+        public void setMode(ExecutionMode mode) {
+            this.mode = mode;
+        }
+
+        public Ordering getOrdering() {
+            return ordering;
+        }
+
+        public void setOrdering(Ordering ordering) {
+            this.ordering = ordering;
+        }
+
+        public int getFetchMultiplier() {
+            return fetchMultiplier;
+        }
+
+        public void setFetchMultiplier(int fetchMultiplier) {
+            this.fetchMultiplier = fetchMultiplier;
+        }
+
+        public int getRankedFetchMultiplier() {
+            return rankedFetchMultiplier;
+        }
+
+        public void setRankedFetchMultiplier(int rankedFetchMultiplier) {
+            this.rankedFetchMultiplier = rankedFetchMultiplier;
+        }
+
+        public boolean isAdaptiveFetch() {
+            return adaptiveFetch;
+        }
+
+        public void setAdaptiveFetch(boolean adaptiveFetch) {
+            this.adaptiveFetch = adaptiveFetch;
+        }
+
+        public double getMinFetchMultiplier() {
+            return minFetchMultiplier;
+        }
+
+        public void setMinFetchMultiplier(double minFetchMultiplier) {
+            this.minFetchMultiplier = minFetchMultiplier;
+        }
+
+        public double getMaxFetchMultiplier() {
+            return maxFetchMultiplier;
+        }
+
+        public void setMaxFetchMultiplier(double maxFetchMultiplier) {
+            this.maxFetchMultiplier = maxFetchMultiplier;
+        }
+
+        public double getFetchDepthHeadroom() {
+            return fetchDepthHeadroom;
+        }
+
+        public void setFetchDepthHeadroom(double fetchDepthHeadroom) {
+            this.fetchDepthHeadroom = fetchDepthHeadroom;
+        }
+
+        public double getFetchDepthSmoothing() {
+            return fetchDepthSmoothing;
+        }
+
+        public void setFetchDepthSmoothing(double fetchDepthSmoothing) {
+            this.fetchDepthSmoothing = fetchDepthSmoothing;
+        }
+
+        public Duration getRecencyWindow() {
+            return recencyWindow;
+        }
+
+        public void setRecencyWindow(Duration recencyWindow) {
+            this.recencyWindow = recencyWindow;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getStrategyTimeout() {
+            return strategyTimeout;
+        }
+
+        public void setStrategyTimeout(Duration strategyTimeout) {
+            this.strategyTimeout = strategyTimeout;
+        }
+
+        public Map<String, Duration> getStrategyTimeouts() {
+            return strategyTimeouts;
+        }
+
+        public void setStrategyTimeouts(Map<String, Duration> strategyTimeouts) {
+            this.strategyTimeouts = strategyTimeouts != null ? new HashMap<>(strategyTimeouts) : new HashMap<>();
+        }
+
+        public Duration timeoutFor(String strategyName) {
+            return strategyTimeouts.getOrDefault(strategyName, strategyTimeout);
+        }
+    }
+
+    @Validated
+    public static class SearchProperties {
+        public enum Engine {
+            FULL_TEXT,
+            LIKE,
+            TRIGRAM,
+            INVERTED_INDEX
+        }
+
+        @NotNull
+        private Engine engine = Engine.FULL_TEXT;
+        private double bm25K1 = 1.2;
+        private double bm25B = 0.75;
+        private int titleWeight = 2;
+
+        public Engine getEngine() {
+            return engine;
+        }
+
+        public void setEngine(Engine engine) {
+            this.engine = engine;
+        }
+
+        public double getBm25K1() {
+            return bm25K1;
+        }
+
+        public void setBm25K1(double bm25K1) {
+            this.bm25K1 = bm25K1;
+        }
+
+        public double getBm25B() {
+            return bm25B;
+        }
+
+        public void setBm25B(double bm25B) {
+            this.bm25B = bm25B;
+        }
+
+        public int getTitleWeight() {
+            return titleWeight;
+        }
+
+        public void setTitleWeight(int titleWeight) {
+            this.titleWeight = titleWeight;
+        }
+    }
+
+    @Validated
+    public static class NearbyProperties {
+        public enum Engine {
+            BOUNDING_BOX,
+            SPATIAL_INDEX,
+            KNN
+        }
+
+        @NotNull
+        private Engine engine = Engine.BOUNDING_BOX;
+        private double gridCellDegrees = 0.5;
+
+        public Engine getEngine() {
+            return engine;
+        }
+
+        public void setEngine(Engine engine) {
+            this.engine = engine;
+        }
+
+        public double getGridCellDegrees() {
+            return gridCellDegrees;
+        }
+
+        public void setGridCellDegrees(double gridCellDegrees) {
+            this.gridCellDegrees = gridCellDegrees;
+        }
+    }
+
+    @Validated
+    public static class PartitioningProperties {
+        public enum Granularity {
+            DAY,
+            WEEK,
+            MONTH
+        }
+
+        private boolean enabled = true;
+        @NotNull
+        private Granularity granularity = Granularity.MONTH;
+        @Min(0)
+        private int premadePeriods = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Granularity getGranularity() {
+            return granularity;
+        }
+
+        public void setGranularity(Granularity granularity) {
+            this.granularity = granularity;
+        }
+
+        public int getPremadePeriods() {
+            return premadePeriods;
+        }
+
+        public void setPremadePeriods(int premadePeriods) {
+            this.premadePeriods = premadePeriods;
+        }
+    }
+
+    @Validated
+    public static class ReplicaProperties {
+        public enum Selection {
+            ROUND_ROBIN,
+            LEAST_CONNECTIONS
+        }
+
+        private List<Replica> replicas = new ArrayList<>();
+        @NotNull
+        private Selection selection = Selection.ROUND_ROBIN;
+        @NotNull
+        private Duration maxReplicaLag = Duration.ofSeconds(10);
+        @NotNull
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+        // how long a read waits for a replica connection before the replica is dropped and the primary serves it
+        @NotNull
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas != null ? new ArrayList<>(replicas) : new ArrayList<>();
+        }
+
+        public Selection getSelection() {
+            return selection;
+        }
+
+        public void setSelection(Selection selection) {
+            this.selection = selection;
+        }
+
+        public Duration getMaxReplicaLag() {
+            return maxReplicaLag;
+        }
+
+        public void setMaxReplicaLag(Duration maxReplicaLag) {
+            this.maxReplicaLag = maxReplicaLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public static class Replica {
+            @NotBlank
+            private String url;
+            // username and password default to spring.datasource.*
+            private String username;
+            private String password;
+            private Integer maximumPoolSize;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+        }
+    }
+
+    @Validated
+    public static class EntityCacheProperties {
+        private boolean enabled = true;
+        // per region: articles, and their category collections
+        @Min(1)
+        private long maximumArticles = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumArticles() {
+            return maximumArticles;
+        }
+
+        public void setMaximumArticles(long maximumArticles) {
+            this.maximumArticles = maximumArticles;
+        }
+    }
 }
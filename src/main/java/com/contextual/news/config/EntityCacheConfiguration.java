@@ -0,0 +1,67 @@
+package com.contextual.news.config;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for {@link NewsArticle} and its categories, held in size-bounded Caffeine caches
+ * behind JCache. Articles are never updated once ingested, so both regions are {@code READ_ONLY} and need no
+ * expiry; hits and misses per region are published as {@code hibernate.second.level.cache.requests}.
+ */
+@Configuration
+public class EntityCacheConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.entity-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager entityCacheManager(AppProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        long maximumSize = properties.entityCache().getMaximumArticles();
+        for (String region : new String[] {NewsArticle.CACHE_REGION, NewsArticle.CATEGORIES_CACHE_REGION}) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, regionConfiguration(maximumSize));
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(ObjectProvider<CacheManager> entityCacheManagers) {
+        CacheManager entityCacheManager = entityCacheManagers.getIfAvailable();
+        return hibernateProperties -> {
+            if (entityCacheManager == null) {
+                // explicitly off: Hibernate would otherwise pick up the JCache region factory from the classpath
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // every region is created above; a missing one means a mapping and this class disagree
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // feeds the hit/miss counters of the Micrometer binder, without logging every session's metrics
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        // Hibernate caches disassembled, immutable entries; copying them on every read would only cost time
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
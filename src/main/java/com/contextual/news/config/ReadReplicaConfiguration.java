@@ -0,0 +1,74 @@
+package com.contextual.news.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Active once {@code app.datasource.replicas[0].url} is set. The application's {@link DataSource} becomes a lazy
+ * proxy over the primary pool that only fetches a physical connection at the first statement, by which point a
+ * {@code readOnly} transaction has already marked the connection read-only; those connections come from
+ * {@link ReplicaRoutingDataSource}, everything else (writes, ingestion, schema initialization) from the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replicas[0].url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties dataSourceProperties,
+                                                      AppProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<AppProperties.ReplicaProperties.Replica> replicas = properties.datasource().getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            AppProperties.ReplicaProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            // sized like the primary unless configured; left unset, both take Hikari's default
+            int maximumPoolSize = replica.getMaximumPoolSize() != null
+                ? replica.getMaximumPoolSize()
+                : primaryDataSource.getMaximumPoolSize();
+            if (maximumPoolSize > 0) {
+                pool.setMaximumPoolSize(maximumPoolSize);
+            }
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(properties.datasource().getConnectionTimeout().toMillis());
+            // a replica that is down at startup must not keep the application from starting
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, properties.datasource(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
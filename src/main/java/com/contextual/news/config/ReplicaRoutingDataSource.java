@@ -0,0 +1,151 @@
+package com.contextual.news.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The read-only side of the routing set up in {@link ReadReplicaConfiguration}: hands out connections from the
+ * replica pools that are reachable and within {@code app.datasource.max-replica-lag}, chosen round-robin or by fewest
+ * active connections, and from the primary when no replica qualifies.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // zero on a primary and on a standby that has replayed everything it received; otherwise the age of the last
+    // replayed transaction
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+        + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+        + " ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AppProperties.ReplicaProperties.Selection selection;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<HikariDataSource> replicaPools,
+                                    AppProperties.ReplicaProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.selection = properties.getSelection();
+        this.maxLag = properties.getMaxReplicaLag();
+        this.fallbacks = Counter.builder("news.datasource.replica.fallback")
+            .description("Read-only connections served by the primary because no replica qualified")
+            .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("news.datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag at the last check, in seconds; NaN when unreachable")
+                .baseUnit("seconds")
+                .tag("replica", replica.pool.getPoolName())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select();
+        if (replica != null) {
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException ex) {
+                replica.markUnavailable();
+                log.warn("Replica {} refused a connection; reading from the primary until it recovers",
+                    replica.pool.getPoolName(), ex);
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the credentials of their pools");
+    }
+
+    /**
+     * Measures every replica's lag and admits it only while reachable and within the configured bound. Until the
+     * first check after startup no replica is admitted, so reads start on the primary.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(LAG_QUERY)) {
+                rows.next();
+                double lag = rows.getDouble(1);
+                replica.lagSeconds = lag;
+                boolean available = lag * 1000 <= maxLag.toMillis();
+                if (available != replica.available) {
+                    log.info("Replica {} {} (lag {}s, limit {})", replica.pool.getPoolName(),
+                        available ? "admitted" : "lagging; reads fall back to the primary", lag, maxLag);
+                }
+                replica.available = available;
+            } catch (SQLException ex) {
+                if (replica.available) {
+                    log.warn("Replica {} unreachable; reads fall back to the primary", replica.pool.getPoolName(), ex);
+                }
+                replica.markUnavailable();
+            }
+        }
+    }
+
+    private Replica select() {
+        List<Replica> available = replicas.stream().filter(replica -> replica.available).toList();
+        if (available.isEmpty()) {
+            return null;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+            case LEAST_CONNECTIONS -> available.stream()
+                .min(Comparator.comparingInt(Replica::activeConnections))
+                .orElseThrow();
+        };
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private void markUnavailable() {
+            available = false;
+            lagSeconds = Double.NaN;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = this.pool.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.contextual.news.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * The article fields ranking needs. Implemented by the full {@link NewsArticle} entity and by the lightweight
+ * projections candidate queries return, which are hydrated into entities only once ranking has picked the final page.
+ */
+public interface ArticleCandidate {
+
+    UUID getId();
+
+    Double getRelevanceScore();
+
+    OffsetDateTime getPublicationDate();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
@@ -1,23 +1,74 @@
 package com.contextual.news.domain.model;
 
+import com.contextual.news.domain.query.ArticleProjection;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "news_article")
-public class NewsArticle {
-
+// never updated after ingestion; the regions are configured in EntityCacheConfiguration
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = NewsArticle.CACHE_REGION)
+@SqlResultSetMapping(
+    name = NewsArticle.SCORED_MAPPING,
+    classes = @ConstructorResult(targetClass = ArticleProjection.class, columns = {
+        @ColumnResult(name = "id", type = UUID.class),
+        @ColumnResult(name = "relevance_score", type = Double.class),
+        @ColumnResult(name = "publication_date", type = OffsetDateTime.class),
+        @ColumnResult(name = "latitude", type = Double.class),
+        @ColumnResult(name = "longitude", type = Double.class),
+        @ColumnResult(name = "token_digest", type = String[].class)
+    }),
+    columns = @ColumnResult(name = "score", type = Double.class)
+)
+@SqlResultSetMapping(
+    name = NewsArticle.TAGGED_MAPPING,
+    classes = @ConstructorResult(targetClass = ArticleProjection.class, columns = {
+        @ColumnResult(name = "id", type = UUID.class),
+        @ColumnResult(name = "relevance_score", type = Double.class),
+        @ColumnResult(name = "publication_date", type = OffsetDateTime.class),
+        @ColumnResult(name = "latitude", type = Double.class),
+        @ColumnResult(name = "longitude", type = Double.class),
+        @ColumnResult(name = "token_digest", type = String[].class)
+    }),
+    columns = {
+        @ColumnResult(name = "score", type = Double.class),
+        @ColumnResult(name = "strategy", type = String.class)
+    }
+)
+public class NewsArticle implements ArticleCandidate {
+
+    public static final String SCORED_MAPPING = "NewsArticle.scored";
+    public static final String TAGGED_MAPPING = "NewsArticle.tagged";
+    public static final String CACHE_REGION = "news-article";
+    public static final String CATEGORIES_CACHE_REGION = "news-article-categories";
+
+    // unique on its own although the table's key is (id, publication_date): news_article_key (V9) holds one
+    // publication date per id
     @Id
     private UUID id;
 
@@ -30,7 +81,7 @@ public class NewsArticle {
     @Column
     private String url;
 
-    @Column(name = "publication_date")
+    @Column(name = "publication_date", nullable = false)
     private OffsetDateTime publicationDate;
 
     @Column(name = "source_name")
@@ -48,8 +99,21 @@ public class NewsArticle {
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "article_category", joinColumns = @JoinColumn(name = "article_id"))
     @Column(name = "category")
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = NewsArticle.CATEGORIES_CACHE_REGION)
+    // collections missing from the cache are initialized together with those of other articles in the session
+    @BatchSize(size = 100)
+    // rows carry the article's publication_date, their partition key; Hibernate binds the article id, then the category
+    @SQLInsert(sql = "INSERT INTO article_category (article_id, category, publication_date)"
+        + " SELECT k.article_id, k.category, a.publication_date"
+        + " FROM (SELECT CAST(? AS uuid) AS article_id, CAST(? AS varchar(80)) AS category) k"
+        + " JOIN news_article a ON a.id = k.article_id")
     private Set<String> categories = new HashSet<>();
 
+    // lower-cased copy of categories backing the GIN-indexed containment filter; derived once, in the constructor
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "categories", columnDefinition = "text[]", nullable = false)
+    private String[] categoryKeys = new String[0];
+
     protected NewsArticle() {
         // for JPA
     }
@@ -68,7 +132,7 @@ public class NewsArticle {
         this.title = Objects.requireNonNull(title, "title must not be null");
         this.description = description;
         this.url = url;
-        this.publicationDate = publicationDate;
+        this.publicationDate = Objects.requireNonNull(publicationDate, "publicationDate must not be null");
         this.sourceName = sourceName;
         this.relevanceScore = relevanceScore;
         this.latitude = Objects.requireNonNull(latitude, "latitude must not be null");
@@ -76,6 +140,7 @@ public class NewsArticle {
         if (categories != null && !categories.isEmpty()) {
             this.categories.addAll(categories);
         }
+        syncCategoryKeys();
     }
 
     public UUID getId() {
@@ -86,72 +151,44 @@ public class NewsArticle {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public String getDescription() {
         return description;
     }
 
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
     public String getUrl() {
         return url;
     }
 
-    public void setUrl(String url) {
-        this.url = url;
-    }
-
     public OffsetDateTime getPublicationDate() {
         return publicationDate;
     }
 
-    public void setPublicationDate(OffsetDateTime publicationDate) {
-        this.publicationDate = publicationDate;
-    }
-
     public String getSourceName() {
         return sourceName;
     }
 
-    public void setSourceName(String sourceName) {
-        this.sourceName = sourceName;
-    }
-
     public Double getRelevanceScore() {
         return relevanceScore;
     }
 
-    public void setRelevanceScore(Double relevanceScore) {
-        this.relevanceScore = relevanceScore;
-    }
-
     public Double getLatitude() {
         return latitude;
     }
 
-    public void setLatitude(Double latitude) {
-        this.latitude = latitude;
-    }
-
     public Double getLongitude() {
         return longitude;
     }
 
-    public void setLongitude(Double longitude) {
-        this.longitude = longitude;
-    }
-
     public Set<String> getCategories() {
         return categories;
     }
 
-    public void setCategories(Set<String> categories) {
-        this.categories = categories != null ? new HashSet<>(categories) : new HashSet<>();
+    private void syncCategoryKeys() {
+        this.categoryKeys = categories.stream()
+            .map(category -> category.toLowerCase(Locale.ROOT))
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
     }
 
     @Override
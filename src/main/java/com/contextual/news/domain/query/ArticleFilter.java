@@ -0,0 +1,66 @@
+package com.contextual.news.domain.query;
+
+import com.contextual.news.domain.model.NewsArticle;
+import java.time.OffsetDateTime;
+
+public record ArticleFilter(
+    String category,
+    String source,
+    Double minimumScore,
+    OffsetDateTime publishedAfter,
+    OffsetDateTime publishedBefore,
+    BoundingBox boundingBox
+) {
+
+    public static ArticleFilter none() {
+        return new ArticleFilter(null, null, null, null, null, null);
+    }
+
+    public ArticleFilter withCategory(String value) {
+        return new ArticleFilter(value, source, minimumScore, publishedAfter, publishedBefore, boundingBox);
+    }
+
+    public ArticleFilter withSource(String value) {
+        return new ArticleFilter(category, value, minimumScore, publishedAfter, publishedBefore, boundingBox);
+    }
+
+    public ArticleFilter withBoundingBox(BoundingBox value) {
+        return new ArticleFilter(category, source, minimumScore, publishedAfter, publishedBefore, value);
+    }
+
+    /**
+     * In-memory equivalent of the SQL predicates, for indexes that hold articles outside the database.
+     */
+    public boolean matches(NewsArticle article) {
+        if (category != null && article.getCategories().stream().noneMatch(category::equalsIgnoreCase)) {
+            return false;
+        }
+        if (source != null && !source.equalsIgnoreCase(article.getSourceName())) {
+            return false;
+        }
+        if (minimumScore != null && (article.getRelevanceScore() == null || article.getRelevanceScore() < minimumScore)) {
+            return false;
+        }
+        if (publishedAfter != null
+            && (article.getPublicationDate() == null || article.getPublicationDate().isBefore(publishedAfter))) {
+            return false;
+        }
+        if (publishedBefore != null
+            && (article.getPublicationDate() == null || article.getPublicationDate().isAfter(publishedBefore))) {
+            return false;
+        }
+        return boundingBox == null || boundingBox.contains(article.getLatitude(), article.getLongitude());
+    }
+
+    public record BoundingBox(
+        double minLatitude,
+        double maxLatitude,
+        double minLongitude,
+        double maxLongitude
+    ) {
+        public boolean contains(double latitude, double longitude) {
+            return latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.contextual.news.domain.query;
+
+import com.contextual.news.domain.model.ArticleCandidate;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Candidate row without the article text or categories: the ranking columns plus the stored {@code token_digest},
+ * the distinct ranking tokens of title and description.
+ */
+public final class ArticleProjection implements ArticleCandidate {
+
+    private final UUID id;
+    private final Double relevanceScore;
+    private final OffsetDateTime publicationDate;
+    private final Double latitude;
+    private final Double longitude;
+    private final Set<String> tokenDigest;
+
+    public ArticleProjection(UUID id,
+                             Double relevanceScore,
+                             OffsetDateTime publicationDate,
+                             Double latitude,
+                             Double longitude,
+                             String[] tokenDigest) {
+        this.id = Objects.requireNonNull(id, "id must not be null");
+        this.relevanceScore = relevanceScore;
+        this.publicationDate = publicationDate;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.tokenDigest = tokenDigest != null ? Set.of(tokenDigest) : Set.of();
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public Double getRelevanceScore() {
+        return relevanceScore;
+    }
+
+    @Override
+    public OffsetDateTime getPublicationDate() {
+        return publicationDate;
+    }
+
+    @Override
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    @Override
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Set<String> getTokenDigest() {
+        return tokenDigest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArticleProjection that)) {
+            return false;
+        }
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -0,0 +1,63 @@
+package com.contextual.news.domain.query;
+
+/**
+ * One strategy's top-k candidate query, expressed as data so several branches can be compiled into a single
+ * statement. The score reported for each row depends on the kind: the stored relevance score, the full-text rank,
+ * the trigram word similarity for substring branches, or the distance in kilometres for nearest-first branches.
+ * Full-text branches match every lexeme of the query, or any of them when no article matches them all.
+ */
+public record CandidateBranch(
+    String strategy,
+    Kind kind,
+    ArticleFilter filter,
+    String query,
+    Double latitude,
+    Double longitude,
+    Double radiusKm,
+    int limit,
+    RankingOrder ranking
+) {
+
+    public enum Kind {
+        RELEVANCE,
+        FULL_TEXT,
+        SUBSTRING,
+        NEAREST
+    }
+
+    public CandidateBranch withLimit(int value) {
+        return new CandidateBranch(strategy, kind, filter, query, latitude, longitude, radiusKm, value, ranking);
+    }
+
+    /**
+     * Orders the branch by {@code value} instead of its kind's natural order; the reported score is unchanged.
+     */
+    public CandidateBranch withRanking(RankingOrder value) {
+        return new CandidateBranch(strategy, kind, filter, query, latitude, longitude, radiusKm, limit, value);
+    }
+
+    /**
+     * This branch without its strategy name and limit: two branches with equal keys run the same query, and the one
+     * with the larger limit returns a prefix-complete superset of the other.
+     */
+    public CandidateBranch queryKey() {
+        return new CandidateBranch(null, kind, filter, query, latitude, longitude, radiusKm, 0, ranking);
+    }
+
+    public static CandidateBranch byRelevance(String strategy, ArticleFilter filter, int limit) {
+        return new CandidateBranch(strategy, Kind.RELEVANCE, filter, null, null, null, null, limit, null);
+    }
+
+    public static CandidateBranch fullText(String strategy, ArticleFilter filter, String query, int limit) {
+        return new CandidateBranch(strategy, Kind.FULL_TEXT, filter, query, null, null, null, limit, null);
+    }
+
+    public static CandidateBranch substring(String strategy, ArticleFilter filter, String query, int limit) {
+        return new CandidateBranch(strategy, Kind.SUBSTRING, filter, query, null, null, null, limit, null);
+    }
+
+    public static CandidateBranch nearest(String strategy, ArticleFilter filter, double latitude, double longitude,
+                                          double radiusKm, int limit) {
+        return new CandidateBranch(strategy, Kind.NEAREST, filter, null, latitude, longitude, radiusKm, limit, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.contextual.news.domain.query;
+
+import com.contextual.news.domain.model.ArticleCandidate;
+import java.util.Objects;
+
+public record NearbyArticle(
+    ArticleCandidate article,
+    double distanceKm
+) {
+    public NearbyArticle {
+        Objects.requireNonNull(article, "article must not be null");
+    }
+}
@@ -0,0 +1,44 @@
+package com.contextual.news.domain.query;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Inputs for ordering a candidate query by an approximation of the final ranking score:
+ * {@code relevance + recency + semantic + proximity}, each weighted. Recency decays exponentially from {@code now}
+ * with the given half-life, semantic is the Jaccard overlap of {@code queryTokens} with the stored token digest, and
+ * proximity is only included when an origin is set. With {@code maximumScore} set, only rows whose score does not
+ * exceed it are returned: the keyset bound of a continuation page.
+ */
+public record RankingOrder(
+    double relevanceWeight,
+    double recencyWeight,
+    double semanticWeight,
+    double proximityWeight,
+    double recencyHalfLifeDays,
+    OffsetDateTime now,
+    List<String> queryTokens,
+    Double latitude,
+    Double longitude,
+    Double radiusKm,
+    Double maximumScore
+) {
+
+    public RankingOrder {
+        queryTokens = queryTokens != null ? List.copyOf(queryTokens) : List.of();
+    }
+
+    public RankingOrder withOrigin(Double originLatitude, Double originLongitude, Double originRadiusKm) {
+        return new RankingOrder(relevanceWeight, recencyWeight, semanticWeight, proximityWeight, recencyHalfLifeDays,
+            now, queryTokens, originLatitude, originLongitude, originRadiusKm, maximumScore);
+    }
+
+    public RankingOrder withMaximumScore(Double value) {
+        return new RankingOrder(relevanceWeight, recencyWeight, semanticWeight, proximityWeight, recencyHalfLifeDays,
+            now, queryTokens, latitude, longitude, radiusKm, value);
+    }
+
+    public boolean hasProximity() {
+        return latitude != null && longitude != null && radiusKm != null && radiusKm > 0;
+    }
+}
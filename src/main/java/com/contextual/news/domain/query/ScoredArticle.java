@@ -0,0 +1,13 @@
+package com.contextual.news.domain.query;
+
+import com.contextual.news.domain.model.ArticleCandidate;
+import java.util.Objects;
+
+public record ScoredArticle(
+    ArticleCandidate article,
+    double score
+) {
+    public ScoredArticle {
+        Objects.requireNonNull(article, "article must not be null");
+    }
+}
@@ -0,0 +1,515 @@
+package com.contextual.news.domain.repository;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.RankingOrder;
+import com.contextual.news.domain.specification.ArticleSpecifications;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * The native candidate statements run by {@link NewsArticleRepositoryImpl}. Parameters are named
+ * ({@code :name}); every statement selects the projection columns plus {@code score}.
+ * <p>
+ * The SQL text only depends on a statement's shape: the branch kinds, which filters are set, whether a ranking
+ * order (with query tokens, with an origin, with a keyset bound) applies. Each shape is compiled once into a
+ * template of SQL and parameter extractors, so repeated shapes skip the string building and hand the JDBC driver,
+ * Hibernate's query plan cache and PostgreSQL the identical statement text their caches key on. Search tokens are bound as one list for
+ * the same reason. Template lookups are published as {@code news.retrieval.statement.cache{result=hit|miss}} and
+ * {@code news.retrieval.statement.cache.hit.ratio}.
+ */
+@Component
+public class CandidateSql {
+
+    // candidate rows carry only what ranking reads; must stay in sync with the ArticleProjection result mappings
+    static final String PROJECTION_COLUMNS =
+        "a.id, a.relevance_score, a.publication_date, a.latitude, a.longitude, a.token_digest";
+    // normalisation flag 32 maps the rank into [0, 1) as rank / (rank + 1)
+    private static final int RANK_NORMALIZATION = 32;
+    // GeoUtils' mean earth radius, so the formula's distances are the ones the final ranking computes
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final String RELEVANCE_ORDER = "a.relevance_score DESC NULLS LAST, a.publication_date DESC NULLS LAST";
+    // shapes are a small closed set, but combined statements multiply them; the bound only guards against surprises
+    private static final long MAXIMUM_TEMPLATES = 1_000;
+
+    private static final int CATEGORY = 1;
+    private static final int SOURCE = 1 << 1;
+    private static final int MINIMUM_SCORE = 1 << 2;
+    private static final int PUBLISHED_AFTER = 1 << 3;
+    private static final int PUBLISHED_BEFORE = 1 << 4;
+    private static final int BOUNDING_BOX = 1 << 5;
+
+    record Statement(String sql, Map<String, Object> parameters) {
+    }
+
+    /**
+     * Variations of a kind's statement that are not expressed by {@link CandidateBranch}.
+     */
+    private enum Form {
+        NATURAL,
+        // full-text match of every lexeme, without the retry that NATURAL folds in
+        MATCH_ALL,
+        // full-text retry that accepts any of the query's lexemes
+        MATCH_ANY,
+        // substring predicate ordered and scored like a plain relevance read
+        BY_RELEVANCE
+    }
+
+    /**
+     * Everything the SQL text of one branch depends on; two branches with equal shapes differ only in bound values.
+     */
+    private record Shape(CandidateBranch.Kind kind, Form form, boolean tagged, int filters, boolean searchTokens,
+                         boolean ranked, boolean rankingTokens, boolean proximity, boolean bounded) {
+
+        static Shape of(CandidateBranch branch, Form form, boolean tagged) {
+            RankingOrder ranking = branch.ranking();
+            return new Shape(branch.kind(), form, tagged, filterMask(filterOf(branch)),
+                branch.kind() == CandidateBranch.Kind.SUBSTRING && !CandidateSql.searchTokens(branch.query()).isEmpty(),
+                ranking != null,
+                ranking != null && !ranking.queryTokens().isEmpty(),
+                ranking != null && ranking.hasProximity(),
+                ranking != null && ranking.maximumScore() != null);
+        }
+
+        boolean has(int filter) {
+            return (filters & filter) != 0;
+        }
+    }
+
+    private record Parameter(String name, int branch, Function<CandidateBranch, Object> value) {
+    }
+
+    private record Template(String sql, List<Parameter> parameters) {
+
+        Statement bind(List<CandidateBranch> branches) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (Parameter parameter : parameters) {
+                values.put(parameter.name(), parameter.value().apply(branches.get(parameter.branch())));
+            }
+            return new Statement(sql, values);
+        }
+    }
+
+    private final Cache<List<Shape>, Template> templates = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_TEMPLATES)
+        .recordStats()
+        .build();
+
+    public CandidateSql(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("news.retrieval.statement.cache", templates, cache -> cache.stats().hitCount())
+            .description("Candidate statements served from a compiled template")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("news.retrieval.statement.cache", templates, cache -> cache.stats().missCount())
+            .description("Candidate statements whose shape had to be compiled")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("news.retrieval.statement.cache.hit.ratio", templates, cache -> cache.stats().hitRate())
+            .description("Share of candidate statements served from a compiled template")
+            .register(meterRegistry);
+        Gauge.builder("news.retrieval.statement.cache.size", templates, Cache::estimatedSize)
+            .description("Compiled candidate statement templates")
+            .register(meterRegistry);
+    }
+
+    Statement fullText(ArticleFilter filter, String query, boolean matchAllTerms, int limit) {
+        return statement(List.of(CandidateBranch.fullText(null, filter, query, limit)),
+            matchAllTerms ? Form.MATCH_ALL : Form.MATCH_ANY, false);
+    }
+
+    Statement substring(ArticleFilter filter, String query, int limit) {
+        return statement(List.of(CandidateBranch.substring(null, filter, query, limit)), Form.NATURAL, false);
+    }
+
+    /**
+     * The substring predicate in relevance order, scored by the stored relevance score.
+     */
+    Statement substringByRelevance(ArticleFilter filter, String query, int limit) {
+        return statement(List.of(CandidateBranch.substring(null, filter, query, limit)), Form.BY_RELEVANCE, false);
+    }
+
+    Statement nearest(ArticleFilter filter, double latitude, double longitude, double radiusKm, int limit) {
+        return statement(List.of(CandidateBranch.nearest(null, filter, latitude, longitude, radiusKm, limit)),
+            Form.NATURAL, false);
+    }
+
+    Statement relevance(ArticleFilter filter, int limit) {
+        return statement(List.of(CandidateBranch.byRelevance(null, filter, limit)), Form.NATURAL, false);
+    }
+
+    /**
+     * {@code branch} on its own, untagged.
+     */
+    Statement branch(CandidateBranch branch) {
+        return statement(List.of(branch), Form.NATURAL, false);
+    }
+
+    /**
+     * Every branch as one {@code UNION ALL} statement, each row tagged with its branch's strategy for
+     * {@link NewsArticle#TAGGED_MAPPING}.
+     */
+    Statement combined(List<CandidateBranch> branches) {
+        return statement(branches, Form.NATURAL, true);
+    }
+
+    private Statement statement(List<CandidateBranch> branches, Form form, boolean tagged) {
+        List<Shape> shapes = branches.stream().map(branch -> Shape.of(branch, form, tagged)).toList();
+        return templates.get(shapes, CandidateSql::compile).bind(branches);
+    }
+
+    private static Template compile(List<Shape> shapes) {
+        Compilation compilation = new Compilation();
+        if (shapes.size() == 1 && !shapes.get(0).tagged()) {
+            compilation.branch(0, "");
+            appendBranch(compilation, shapes.get(0));
+            return compilation.template();
+        }
+        for (int i = 0; i < shapes.size(); i++) {
+            if (i > 0) {
+                compilation.sql.append(" UNION ALL ");
+            }
+            // parenthesised so each branch keeps its own ORDER BY and LIMIT; every branch binds its own parameters,
+            // so identical filters in two branches never collide
+            compilation.branch(i, "b" + i + "_");
+            compilation.sql.append('(');
+            appendBranch(compilation, shapes.get(i));
+            compilation.sql.append(')');
+        }
+        return compilation.template();
+    }
+
+    private static void appendBranch(Compilation c, Shape shape) {
+        switch (shape.kind()) {
+            case RELEVANCE -> appendRelevanceBranch(c, shape);
+            case FULL_TEXT -> appendFullTextBranch(c, shape);
+            case SUBSTRING -> appendSubstringBranch(c, shape);
+            case NEAREST -> appendNearestBranch(c, shape);
+        }
+    }
+
+    private static void appendRelevanceBranch(Compilation c, Shape shape) {
+        appendSelect(c, shape, "coalesce(a.relevance_score, 0)");
+        c.sql.append(" FROM news_article a WHERE TRUE");
+        appendFilter(c, shape);
+        appendOrder(c, shape, RELEVANCE_ORDER);
+        appendLimit(c);
+    }
+
+    /**
+     * A {@link CandidateBranch.Kind#FULL_TEXT} branch matches every lexeme and, in the same statement, retries with
+     * any of them: the retry is a second {@code UNION ALL} part that only returns rows when the first part's
+     * predicate, bound included, matches nothing. The bound and filters of both parts are the same, so a continuation
+     * page never gets partial matches from before its cursor.
+     */
+    private static void appendFullTextBranch(Compilation c, Shape shape) {
+        if (shape.form() != Form.NATURAL) {
+            appendFullTextMatch(c, shape, shape.form() == Form.MATCH_ALL, false);
+            return;
+        }
+        c.sql.append('(');
+        appendFullTextMatch(c, shape, true, false);
+        c.sql.append(") UNION ALL (");
+        appendFullTextMatch(c, shape, false, true);
+        c.sql.append(')');
+    }
+
+    private static void appendFullTextMatch(Compilation c, Shape shape, boolean matchAllTerms, boolean unlessAllMatch) {
+        // standalone, both forms bind their terms as query: Hibernate caches native query plans by their JDBC text,
+        // and two statements differing only in a parameter's name would share one plan and its parameter list
+        String terms = matchAllTerms
+            ? c.bind("query", CandidateBranch::query)
+            : c.bind(unlessAllMatch ? "anyTerms" : "query", branch -> anyTerms(branch.query()));
+        appendSelect(c, shape, "ts_rank_cd(a.tsv, q, " + RANK_NORMALIZATION + ")");
+        c.sql.append(" FROM news_article a, ").append(tsquery(terms)).append(" q")
+            .append(" WHERE a.tsv @@ q");
+        appendFilter(c, shape);
+        if (unlessAllMatch) {
+            // the same alias, so the filter and bound read the subquery's row; evaluated once, as an InitPlan
+            c.sql.append(" AND NOT EXISTS (SELECT 1 FROM news_article a, ")
+                .append(tsquery(c.bind("query", CandidateBranch::query))).append(" q")
+                .append(" WHERE a.tsv @@ q");
+            appendFilter(c, shape);
+            appendBound(c, shape);
+            c.sql.append(')');
+        }
+        appendOrder(c, shape, "score DESC, " + RELEVANCE_ORDER);
+        appendLimit(c);
+    }
+
+    /**
+     * The whole phrase, or every {@link ArticleSpecifications#searchTokens search token}, in title or description;
+     * written against the indexed {@code lower(...)} expressions so the trigram GIN indexes can answer each
+     * {@code LIKE}. The tokens are bound as
+     * one {@code text[]} of patterns, so the text does not grow with the query; the longest token is also bound
+     * on its own, which gives the index something to search for and leaves the list to check the rest.
+     */
+    private static void appendSubstringBranch(Compilation c, Shape shape) {
+        boolean byRelevance = shape.form() == Form.BY_RELEVANCE;
+        if (byRelevance) {
+            appendSelect(c, shape, "coalesce(a.relevance_score, 0)");
+        } else {
+            String term = c.bind("query", branch -> normalize(branch.query()));
+            appendSelect(c, shape, "GREATEST(word_similarity(" + term + ", lower(a.title)),"
+                + " coalesce(word_similarity(" + term + ", lower(a.description)), 0))");
+        }
+        c.sql.append(" FROM news_article a WHERE (");
+        appendContains(c, c.bind("phrase", branch -> containsPattern(normalize(branch.query()))));
+        if (shape.searchTokens()) {
+            String lead = c.bind("leadToken", branch -> searchTokens(branch.query()).stream()
+                .max(Comparator.comparingInt(String::length))
+                .map(CandidateSql::containsPattern)
+                .orElseThrow());
+            String tokens = c.bind("tokenPatterns", branch -> searchTokens(branch.query()).stream()
+                .map(CandidateSql::containsPattern)
+                .toArray(String[]::new));
+            c.sql.append(" OR (");
+            appendContains(c, lead);
+            // IS NOT TRUE rather than NOT: a token missing from the title must not pass on a NULL description
+            c.sql.append(" AND NOT EXISTS (SELECT 1 FROM unnest(CAST(").append(tokens)
+                .append(" AS text[])) token WHERE (lower(a.title) LIKE token OR lower(a.description) LIKE token)")
+                .append(" IS NOT TRUE))");
+        }
+        c.sql.append(')');
+        appendFilter(c, shape);
+        appendOrder(c, shape, byRelevance ? RELEVANCE_ORDER : "score DESC, " + RELEVANCE_ORDER);
+        appendLimit(c);
+    }
+
+    private static void appendContains(Compilation c, String pattern) {
+        c.sql.append("(lower(a.title) LIKE ").append(pattern).append(" OR lower(a.description) LIKE ").append(pattern)
+            .append(')');
+    }
+
+    private static void appendNearestBranch(Compilation c, Shape shape) {
+        // kept inline rather than in FROM so the planner sees a constant KNN operand for the GiST index scan
+        String origin = "ll_to_earth(" + c.bind("latitude", CandidateBranch::latitude) + ", "
+            + c.bind("longitude", CandidateBranch::longitude) + ")";
+        String radius = c.bind("radiusMeters", branch -> branch.radiusKm() * 1000.0);
+        // earth_box is a cheap indexable superset of the radius; earth_distance then applies it exactly
+        appendSelect(c, shape, "earth_distance(" + origin + ", a.location) / 1000.0");
+        c.sql.append(" FROM news_article a")
+            .append(" WHERE earth_box(").append(origin).append(", ").append(radius).append(") @> a.location")
+            .append(" AND earth_distance(").append(origin).append(", a.location) <= ").append(radius);
+        appendFilter(c, shape);
+        appendOrder(c, shape, "a.location <-> " + origin + ", a.id");
+        appendLimit(c);
+    }
+
+    /**
+     * Orders by {@code naturalOrder}, or by the ranking formula when one is given. The formula mirrors the in-memory
+     * ranking term by term, down to recency counting whole hours; it still only decides which rows to fetch and never
+     * replaces the final score.
+     */
+    private static void appendOrder(Compilation c, Shape shape, String naturalOrder) {
+        if (!shape.ranked()) {
+            c.sql.append(" ORDER BY ").append(naturalOrder);
+            return;
+        }
+        appendBound(c, shape);
+        c.sql.append(" ORDER BY ").append(rankingFormula(c, shape)).append(" DESC, a.id");
+    }
+
+    /**
+     * A maximum score bounds the whole formula: every term, proximity included, depends only on the article, so a
+     * row scoring above the bound cannot belong after the cursor whichever strategy claims it.
+     */
+    private static void appendBound(Compilation c, Shape shape) {
+        if (shape.bounded()) {
+            c.sql.append(" AND ").append(rankingFormula(c, shape)).append(" <= ")
+                .append(c.bind("maximumScore", branch -> branch.ranking().maximumScore()));
+        }
+    }
+
+    /**
+     * Weighted relevance, recency, semantic overlap and, with an origin, proximity: the in-memory ranking formula.
+     */
+    private static String rankingFormula(Compilation c, Shape shape) {
+        StringBuilder formula = new StringBuilder("(")
+            .append(c.bind("relevanceWeight", branch -> branch.ranking().relevanceWeight()))
+            .append(" * LEAST(GREATEST(coalesce(a.relevance_score, 0), 0), 1)")
+            .append(" + ").append(c.bind("recencyWeight", branch -> branch.ranking().recencyWeight()))
+            .append(" * CASE WHEN a.publication_date IS NULL THEN 0 ELSE exp(-ln(2) / ")
+            .append(c.bind("halfLifeDays", branch -> branch.ranking().recencyHalfLifeDays()))
+            .append(" * GREATEST(trunc(EXTRACT(EPOCH FROM (CAST(")
+            .append(c.bind("now", branch -> branch.ranking().now()))
+            .append(" AS timestamptz) - a.publication_date)) / 3600) / 24.0, 0)) END");
+        if (shape.rankingTokens()) {
+            // Jaccard overlap with the stored digest: shared / (article tokens + query tokens - shared)
+            String overlap = "(SELECT count(*) FROM unnest(a.token_digest) t WHERE t = ANY(CAST("
+                + c.bind("tokens", branch -> branch.ranking().queryTokens().toArray(String[]::new)) + " AS text[])))";
+            formula.append(" + ").append(c.bind("semanticWeight", branch -> branch.ranking().semanticWeight()))
+                .append(" * coalesce(CAST(").append(overlap).append(" AS float8) / NULLIF(cardinality(a.token_digest) + ")
+                .append(c.bind("tokenCount", branch -> branch.ranking().queryTokens().size())).append(" - ")
+                .append(overlap).append(", 0), 0)");
+        }
+        if (shape.proximity()) {
+            // haversine over GeoUtils' earth radius, decaying linearly to the edge of the radius
+            String latitude = c.bind("originLatitude", branch -> branch.ranking().latitude());
+            String longitude = c.bind("originLongitude", branch -> branch.ranking().longitude());
+            formula.append(" + ").append(c.bind("proximityWeight", branch -> branch.ranking().proximityWeight()))
+                .append(" * GREATEST(0, 1 - 2 * ").append(EARTH_RADIUS_KM)
+                .append(" * asin(LEAST(1, sqrt(power(sin(radians(a.latitude - ").append(latitude).append(") / 2), 2)")
+                .append(" + cos(radians(").append(latitude).append(")) * cos(radians(a.latitude))")
+                .append(" * power(sin(radians(a.longitude - ").append(longitude).append(") / 2), 2)))) / ")
+                .append(c.bind("originRadiusKm", branch -> branch.ranking().radiusKm())).append(')');
+        }
+        return formula.append(')').toString();
+    }
+
+    /**
+     * Article columns plus {@code score}; tagged rows also carry their branch's strategy for
+     * {@link NewsArticle#TAGGED_MAPPING}.
+     */
+    private static void appendSelect(Compilation c, Shape shape, String scoreExpression) {
+        c.sql.append("SELECT ").append(PROJECTION_COLUMNS).append(", ").append(scoreExpression).append(" AS score");
+        if (shape.tagged()) {
+            c.sql.append(", CAST(").append(c.bind("strategy", CandidateBranch::strategy)).append(" AS text) AS strategy");
+        }
+    }
+
+    /**
+     * The tsv column is generated with the 'english' configuration, queries must use the same one to match.
+     */
+    private static String tsquery(String parameter) {
+        return "websearch_to_tsquery('english', " + parameter + ")";
+    }
+
+    /**
+     * The words of {@code query} joined by {@code websearch_to_tsquery}'s {@code or}, so any of their lexemes is
+     * enough to match. Quotes and leading minus signs are dropped, as they would turn words into phrases and
+     * negations, and so are words that would read as the operator itself.
+     */
+    private static String anyTerms(String query) {
+        return Arrays.stream(query.trim().split("\\s+"))
+            .map(word -> word.replace("\"", "").replaceFirst("^-+", ""))
+            .filter(word -> !word.isBlank() && !word.equalsIgnoreCase("or"))
+            .collect(Collectors.joining(" or "));
+    }
+
+    private static void appendLimit(Compilation c) {
+        c.sql.append(" LIMIT ").append(c.bind("limit", CandidateBranch::limit));
+    }
+
+    private static void appendFilter(Compilation c, Shape shape) {
+        if (shape.has(CATEGORY)) {
+            c.sql.append(" AND a.categories @> ARRAY[CAST(")
+                .append(c.bind("category", branch -> branch.filter().category().toLowerCase(Locale.ENGLISH)))
+                .append(" AS text)]");
+        }
+        if (shape.has(SOURCE)) {
+            c.sql.append(" AND lower(a.source_name) = ")
+                .append(c.bind("source", branch -> branch.filter().source().toLowerCase(Locale.ENGLISH)));
+        }
+        if (shape.has(MINIMUM_SCORE)) {
+            c.sql.append(" AND a.relevance_score >= ")
+                .append(c.bind("minimumScore", branch -> branch.filter().minimumScore()));
+        }
+        if (shape.has(PUBLISHED_AFTER)) {
+            c.sql.append(" AND a.publication_date >= ")
+                .append(c.bind("publishedAfter", branch -> branch.filter().publishedAfter()));
+        }
+        if (shape.has(PUBLISHED_BEFORE)) {
+            c.sql.append(" AND a.publication_date <= ")
+                .append(c.bind("publishedBefore", branch -> branch.filter().publishedBefore()));
+        }
+        if (shape.has(BOUNDING_BOX)) {
+            c.sql.append(" AND a.latitude BETWEEN ")
+                .append(c.bind("minLatitude", branch -> branch.filter().boundingBox().minLatitude()))
+                .append(" AND ").append(c.bind("maxLatitude", branch -> branch.filter().boundingBox().maxLatitude()))
+                .append(" AND a.longitude BETWEEN ")
+                .append(c.bind("minLongitude", branch -> branch.filter().boundingBox().minLongitude()))
+                .append(" AND ").append(c.bind("maxLongitude", branch -> branch.filter().boundingBox().maxLongitude()));
+        }
+    }
+
+    /**
+     * The filter a branch applies: nearest-first branches replace the bounding box with their exact radius.
+     */
+    private static ArticleFilter filterOf(CandidateBranch branch) {
+        ArticleFilter filter = branch.filter();
+        return filter != null && branch.kind() == CandidateBranch.Kind.NEAREST ? filter.withBoundingBox(null) : filter;
+    }
+
+    private static int filterMask(ArticleFilter filter) {
+        if (filter == null) {
+            return 0;
+        }
+        int mask = 0;
+        if (filter.category() != null && !filter.category().isBlank()) {
+            mask |= CATEGORY;
+        }
+        if (filter.source() != null && !filter.source().isBlank()) {
+            mask |= SOURCE;
+        }
+        if (filter.minimumScore() != null) {
+            mask |= MINIMUM_SCORE;
+        }
+        if (filter.publishedAfter() != null) {
+            mask |= PUBLISHED_AFTER;
+        }
+        if (filter.publishedBefore() != null) {
+            mask |= PUBLISHED_BEFORE;
+        }
+        if (filter.boundingBox() != null) {
+            mask |= BOUNDING_BOX;
+        }
+        return mask;
+    }
+
+    private static String normalize(String query) {
+        return query.toLowerCase(Locale.ENGLISH).trim();
+    }
+
+    private static List<String> searchTokens(String query) {
+        return ArticleSpecifications.searchTokens(normalize(query));
+    }
+
+    private static String containsPattern(String text) {
+        // backslash is LIKE's default escape character
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * A template under construction: the SQL text, and for every placeholder the branch and extractor its value
+     * comes from.
+     */
+    private static final class Compilation {
+
+        private final StringBuilder sql = new StringBuilder();
+        private final List<Parameter> parameters = new ArrayList<>();
+        private int branch;
+        private String prefix;
+
+        void branch(int index, String parameterPrefix) {
+            this.branch = index;
+            this.prefix = parameterPrefix;
+        }
+
+        /**
+         * Registers a parameter of the current branch and returns its placeholder.
+         */
+        String bind(String name, Function<CandidateBranch, Object> value) {
+            parameters.add(new Parameter(prefix + name, branch, value));
+            return ":" + prefix + name;
+        }
+
+        Template template() {
+            return new Template(sql.toString(), List.copyOf(parameters));
+        }
+    }
+}
@@ -1,10 +1,38 @@
 package com.contextual.news.domain.repository;
 
 import com.contextual.news.domain.model.NewsArticle;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface NewsArticleRepository extends JpaRepository<NewsArticle, UUID>,
-    JpaSpecificationExecutor<NewsArticle> {
+public interface NewsArticleRepository extends JpaRepository<NewsArticle, UUID>, NewsArticleRepositoryCustom {
+
+    @Query("select distinct a from NewsArticle a left join fetch a.categories")
+    List<NewsArticle> findAllWithCategories();
+
+    @Query("select lower(c), count(a) from NewsArticle a join a.categories c group by lower(c)")
+    List<Object[]> countByCategory();
+
+    @Query("select lower(a.sourceName), count(a) from NewsArticle a where a.sourceName is not null"
+        + " group by lower(a.sourceName)")
+    List<Object[]> countBySource();
+
+    @Query("select max(a.publicationDate) from NewsArticle a")
+    OffsetDateTime findLatestPublicationDate();
+
+    @Query(value = "select coalesce(max(relevance_score), 0) from news_article where publication_date < :before",
+        nativeQuery = true)
+    double findMaxRelevancePublishedBefore(@Param("before") OffsetDateTime before);
+
+    /**
+     * Per ranking token of the articles published before {@code before}: the token, the smallest token digest and the
+     * best relevance score among the articles whose digest contains it.
+     */
+    @Query(value = "select token, min(cardinality(a.token_digest)), max(coalesce(a.relevance_score, 0))"
+        + " from news_article a cross join lateral unnest(a.token_digest) token"
+        + " where a.publication_date < :before group by token", nativeQuery = true)
+    List<Object[]> summarizeTokensPublishedBefore(@Param("before") OffsetDateTime before);
 }
@@ -0,0 +1,61 @@
+package com.contextual.news.domain.repository;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.NearbyArticle;
+import com.contextual.news.domain.query.ScoredArticle;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Native candidate queries. Rows come back as {@link com.contextual.news.domain.query.ArticleProjection}s; the page
+ * that is finally returned is hydrated separately through {@link #findAllCachedById}.
+ */
+public interface NewsArticleRepositoryCustom {
+
+    /**
+     * Matches {@code query} against the generated {@code tsv} column and orders by {@code ts_rank_cd}, normalised
+     * into {@code [0, 1)}. With {@code matchAllTerms=false} any query lexeme is enough to match.
+     */
+    List<ScoredArticle> searchFullText(ArticleFilter filter, String query, boolean matchAllTerms, int limit);
+
+    /**
+     * Case-insensitive substring match of {@code query} on title and description: the whole phrase, or every word of
+     * three or more characters. Served by the {@code pg_trgm} indexes on {@code lower(title)} and
+     * {@code lower(description)}; ordered and scored by trigram word similarity in {@code [0, 1]}.
+     */
+    List<ScoredArticle> searchSubstring(ArticleFilter filter, String query, int limit);
+
+    /**
+     * The match of {@link #searchSubstring}, ordered like {@link #findByRelevance} and scored by the stored relevance
+     * score.
+     */
+    List<ScoredArticle> searchSubstringByRelevance(ArticleFilter filter, String query, int limit);
+
+    /**
+     * Top articles by stored relevance score, then publication date; the score reported is the relevance score.
+     */
+    List<ScoredArticle> findByRelevance(ArticleFilter filter, int limit);
+
+    /**
+     * Articles within {@code radiusKm} of the origin, nearest first, using the GiST-indexed {@code location} column.
+     * The filter's bounding box is ignored; the radius is applied exactly.
+     */
+    List<NearbyArticle> findNearest(ArticleFilter filter, double latitude, double longitude, double radiusKm, int limit);
+
+    /**
+     * Runs every branch as one {@code UNION ALL} statement, each keeping its own ordering and limit, and returns the
+     * rows grouped by strategy in branch order. Scores follow {@link CandidateBranch.Kind}.
+     */
+    Map<String, List<ScoredArticle>> findCandidates(List<CandidateBranch> branches);
+
+    /**
+     * The articles with the given ids, categories initialized, in no particular order; unknown ids are skipped.
+     * Articles and category sets are taken from the second-level cache where present, and only the rest are read,
+     * in batches, from the database.
+     */
+    List<NewsArticle> findAllCachedById(Collection<UUID> ids);
+}
@@ -0,0 +1,106 @@
+package com.contextual.news.domain.repository;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.ArticleProjection;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.NearbyArticle;
+import com.contextual.news.domain.query.ScoredArticle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+public class NewsArticleRepositoryImpl implements NewsArticleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CandidateSql candidateSql;
+
+    public NewsArticleRepositoryImpl(CandidateSql candidateSql) {
+        this.candidateSql = candidateSql;
+    }
+
+    @Override
+    public List<ScoredArticle> searchFullText(ArticleFilter filter, String query, boolean matchAllTerms, int limit) {
+        return executeScored(candidateSql.fullText(filter, query, matchAllTerms, limit));
+    }
+
+    @Override
+    public List<ScoredArticle> searchSubstring(ArticleFilter filter, String query, int limit) {
+        return executeScored(candidateSql.substring(filter, query, limit));
+    }
+
+    @Override
+    public List<ScoredArticle> searchSubstringByRelevance(ArticleFilter filter, String query, int limit) {
+        return executeScored(candidateSql.substringByRelevance(filter, query, limit));
+    }
+
+    @Override
+    public List<NearbyArticle> findNearest(ArticleFilter filter, double latitude, double longitude, double radiusKm,
+                                           int limit) {
+        return executeScored(candidateSql.nearest(filter, latitude, longitude, radiusKm, limit)).stream()
+            .map(scored -> new NearbyArticle(scored.article(), scored.score()))
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NewsArticle> findAllCachedById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // unlike a query, a multi-load consults the second-level cache before selecting what it does not hold
+        List<NewsArticle> articles = entityManager.unwrap(Session.class)
+            .byMultipleIds(NewsArticle.class)
+            .multiLoad(List.copyOf(ids)).stream()
+            .filter(Objects::nonNull)
+            .toList();
+        articles.forEach(article -> Hibernate.initialize(article.getCategories()));
+        return articles;
+    }
+
+    @Override
+    public List<ScoredArticle> findByRelevance(ArticleFilter filter, int limit) {
+        return executeScored(candidateSql.relevance(filter, limit));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, List<ScoredArticle>> findCandidates(List<CandidateBranch> branches) {
+        Map<String, List<ScoredArticle>> candidates = new LinkedHashMap<>();
+        if (branches.isEmpty()) {
+            return candidates;
+        }
+        branches.forEach(branch -> candidates.put(branch.strategy(), new ArrayList<>()));
+        CandidateSql.Statement statement = candidateSql.combined(branches);
+        Query query = entityManager.createNativeQuery(statement.sql(), NewsArticle.TAGGED_MAPPING);
+        statement.parameters().forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            double score = row[1] != null ? ((Number) row[1]).doubleValue() : 0.0;
+            candidates.get((String) row[2]).add(new ScoredArticle((ArticleProjection) row[0], score));
+        }
+        return candidates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ScoredArticle> executeScored(CandidateSql.Statement statement) {
+        Query query = entityManager.createNativeQuery(statement.sql(), NewsArticle.SCORED_MAPPING);
+        statement.parameters().forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+            .map(row -> new ScoredArticle((ArticleProjection) row[0], row[1] != null ? ((Number) row[1]).doubleValue() : 0.0))
+            .toList();
+    }
+}
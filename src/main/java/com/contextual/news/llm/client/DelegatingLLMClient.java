@@ -5,17 +5,25 @@ import com.contextual.news.llm.model.ArticleEnrichment;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.service.dto.EnrichmentRequest;
 import com.contextual.news.service.dto.QueryUnderstandingContext;
+import com.contextual.news.service.util.GeoBucketer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpHeaders;
@@ -32,25 +40,86 @@ public class DelegatingLLMClient implements LLMClient {
 
     private static final Logger log = LoggerFactory.getLogger(DelegatingLLMClient.class);
     private static final String PROVIDER_OLLAMA = "ollama";
+    private static final String QUERY_CACHE = "query-understanding";
+    private static final String ENRICHMENT_CACHE = "article-enrichment";
+    // a batch takes several times as long as a single enrichment, so it learns its own timeout
+    static final String BATCH_ENRICHMENT_OPERATION = "article-enrichment-batch";
 
     private final AppProperties properties;
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
     private final RuleBasedLLMClient fallback;
+    private final CacheManager cacheManager;
+    private final LlmCircuitBreaker circuitBreaker;
+    // concurrent cache misses for one key share a single LLM call; keyed like the caches
+    private final SingleFlight<String, ParsedQuery> queryFlights;
+    private final SingleFlight<UUID, ArticleEnrichment> enrichmentFlights;
+    private final QueryKeyNormalizer queryKeys;
+    private final Counter queryCacheExactHits;
+    private final Counter queryCacheNormalizedHits;
+    private final Counter queryCacheMisses;
 
     public DelegatingLLMClient(AppProperties properties,
                                WebClient llmWebClient,
                                ObjectMapper objectMapper,
-                               RuleBasedLLMClient fallback) {
+                               RuleBasedLLMClient fallback,
+                               CacheManager cacheManager,
+                               LlmCircuitBreaker circuitBreaker,
+                               MeterRegistry meterRegistry) {
         this.properties = properties;
         this.webClient = llmWebClient;
         this.objectMapper = objectMapper;
         this.fallback = fallback;
+        this.cacheManager = cacheManager;
+        this.circuitBreaker = circuitBreaker;
+        this.queryFlights = new SingleFlight<>(coalescedCounter(QUERY_CACHE, meterRegistry));
+        this.enrichmentFlights = new SingleFlight<>(coalescedCounter(ENRICHMENT_CACHE, meterRegistry));
+        this.queryKeys = new QueryKeyNormalizer(new GeoBucketer(properties.llm().getQueryLocationCellDegrees()));
+        this.queryCacheExactHits = queryCacheCounter("exact_hit", meterRegistry);
+        this.queryCacheNormalizedHits = queryCacheCounter("normalized_hit", meterRegistry);
+        this.queryCacheMisses = queryCacheCounter("miss", meterRegistry);
     }
 
+    private static Counter queryCacheCounter(String result, MeterRegistry meterRegistry) {
+        // exact_hit would also have hit under the raw query:lat:lon key; normalized_hit only hit thanks to
+        // normalization
+        return Counter.builder("news.llm.query.cache")
+            .description("Query-understanding cache lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Counter coalescedCounter(String operation, MeterRegistry meterRegistry) {
+        return Counter.builder("news.llm.coalesced")
+            .description("LLM calls not issued because the same call was already in flight")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached under the {@link QueryKeyNormalizer normalized} query and location cell; the cached parse is re-bound to
+     * the caller's exact location. Parses that fell back after a failed LLM call are not cached, so the next request
+     * asks again.
+     */
     @Override
-    @Cacheable(value = "query-understanding", key = "#context.query() + ':' + #context.latitude() + ':' + #context.longitude()")
     public ParsedQuery parseQuery(QueryUnderstandingContext context) {
+        String key = queryKeys.key(context);
+        Cache cache = cacheManager.getCache(QUERY_CACHE);
+        CachedParse cached = cache != null ? cache.get(key, CachedParse.class) : null;
+        if (cached != null) {
+            boolean exact = cached.exactKey().equals(QueryKeyNormalizer.exactKey(context));
+            (exact ? queryCacheExactHits : queryCacheNormalizedHits).increment();
+            return queryKeys.rebind(cached.parsedQuery(), context);
+        }
+        queryCacheMisses.increment();
+        ParsedQuery parsed = understandQuery(key, context);
+        if (cache != null && !parsed.fallbackUsed()) {
+            cache.put(key, new CachedParse(QueryKeyNormalizer.exactKey(context), parsed));
+        }
+        return parsed;
+    }
+
+    private ParsedQuery understandQuery(String key, QueryUnderstandingContext context) {
         log.info("LLM configuration resolved: provider={}, baseUrl={}, enabledFlag={}, isEnabledComputed={}",
             properties.llm().getProvider(), properties.llm().getResolvedBaseUrl(), properties.llm().isEnabled(),
             isProviderEnabled());
@@ -59,43 +128,202 @@ public class DelegatingLLMClient implements LLMClient {
             return fallback.parseQuery(context);
         }
         try {
-            log.info("Invoking {} provider for query understanding", properties.llm().getProvider());
-            PromptParts prompt = buildQueryPromptParts(context);
-            JsonNode content = executeForJson(prompt, buildQuerySchema());
-            ParsedQuery parsed = parseQueryContent(content);
+            ParsedQuery parsed = queryFlights.execute(key, () -> requestParsedQuery(context));
             if (parsed != null) {
-                log.info("LLM parsed intents={}, filters={}", parsed.intents(), parsed.filters());
-                return parsed;
+                // callers that joined someone else's parse get it for their own location
+                return queryKeys.rebind(parsed, context);
             }
+        } catch (LlmCircuitBreaker.CallNotPermittedException ex) {
+            log.debug("LLM circuit open; using rule-based parser");
         } catch (Exception ex) {
             log.warn("{} query parsing failed, falling back to rule-based parser", properties.llm().getProvider(), ex);
         }
         return fallback.parseQuery(context).withFallback();
     }
 
+    private ParsedQuery requestParsedQuery(QueryUnderstandingContext context) {
+        log.info("Invoking {} provider for query understanding", properties.llm().getProvider());
+        PromptParts prompt = buildQueryPromptParts(context);
+        JsonNode content = executeForJson(QUERY_CACHE, prompt, buildQuerySchema());
+        ParsedQuery parsed = parseQueryContent(content);
+        if (parsed != null) {
+            log.info("LLM parsed intents={}, filters={}", parsed.intents(), parsed.filters());
+        }
+        return parsed;
+    }
+
     @Override
-    @Cacheable(value = "article-enrichment", key = "#request.article().id")
+    @Cacheable(value = ENRICHMENT_CACHE, key = "#request.article().id")
     public ArticleEnrichment generateEnrichment(EnrichmentRequest request) {
         if (!isProviderEnabled()) {
             log.info("LLM disabled or provider configuration missing; using rule-based enrichment");
             return fallback.generateEnrichment(request);
         }
         try {
-            log.info("Invoking {} provider for article enrichment of {}", properties.llm().getProvider(),
-                request.article().getId());
-            PromptParts prompt = buildEnrichmentPromptParts(request);
-            JsonNode content = executeForJson(prompt, buildEnrichmentSchema());
-            ArticleEnrichment enrichment = parseEnrichmentContent(content);
-            if (enrichment != null && !enrichment.isEmpty()) {
-                log.info("LLM enrichment summary generated for article {}", request.article().getId());
+            ArticleEnrichment enrichment = enrichmentFlights.execute(request.article().getId(),
+                () -> requestEnrichment(request));
+            if (enrichment != null) {
                 return enrichment;
             }
+        } catch (LlmCircuitBreaker.CallNotPermittedException ex) {
+            log.debug("LLM circuit open; using fallback generator");
         } catch (Exception ex) {
             log.warn("{} enrichment failed, using fallback generator", properties.llm().getProvider(), ex);
         }
         return fallback.generateEnrichment(request);
     }
 
+    private ArticleEnrichment requestEnrichment(EnrichmentRequest request) {
+        log.info("Invoking {} provider for article enrichment of {}", properties.llm().getProvider(),
+            request.article().getId());
+        PromptParts prompt = buildEnrichmentPromptParts(request);
+        JsonNode content = executeForJson(ENRICHMENT_CACHE, prompt, buildEnrichmentSchema());
+        ArticleEnrichment enrichment = parseEnrichmentContent(content);
+        if (enrichment == null || enrichment.isEmpty()) {
+            return null;
+        }
+        log.info("LLM enrichment summary generated for article {}", request.article().getId());
+        return enrichment;
+    }
+
+    /**
+     * Enriches every article that is not in the {@code article-enrichment} cache with a single prompt listing them
+     * all, and caches each result under its article id. Articles the answer leaves out or returns without usable
+     * content get the rule-based enrichment individually; those are not cached, so the next request asks again.
+     * Articles whose enrichment is already in flight, in a single or a batch call, wait for that call instead.
+     */
+    @Override
+    public Map<UUID, ArticleEnrichment> generateEnrichments(List<EnrichmentRequest> requests) {
+        Cache cache = cacheManager.getCache(ENRICHMENT_CACHE);
+        Map<UUID, ArticleEnrichment> enrichments = new LinkedHashMap<>();
+        List<EnrichmentRequest> uncached = new ArrayList<>();
+        for (EnrichmentRequest request : requests) {
+            ArticleEnrichment cached = cache != null
+                ? cache.get(request.article().getId(), ArticleEnrichment.class)
+                : null;
+            // inserted now, even when missing, so the result keeps the request order
+            enrichments.put(request.article().getId(), cached);
+            if (cached == null) {
+                uncached.add(request);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            if (!isProviderEnabled()) {
+                log.info("LLM disabled or provider configuration missing; using rule-based enrichment");
+                for (EnrichmentRequest request : uncached) {
+                    ArticleEnrichment enrichment = fallback.generateEnrichment(request);
+                    cachePut(cache, request.article().getId(), enrichment);
+                    enrichments.put(request.article().getId(), enrichment);
+                }
+            } else {
+                generateUncached(uncached, cache, enrichments);
+            }
+        }
+        return enrichments;
+    }
+
+    private void generateUncached(List<EnrichmentRequest> uncached, Cache cache,
+                                  Map<UUID, ArticleEnrichment> enrichments) {
+        // articles another call is already enriching are waited for rather than asked about again
+        List<EnrichmentRequest> leading = new ArrayList<>();
+        List<SingleFlight<UUID, ArticleEnrichment>.Flight> leadingFlights = new ArrayList<>();
+        Map<EnrichmentRequest, SingleFlight<UUID, ArticleEnrichment>.Flight> following = new LinkedHashMap<>();
+        for (EnrichmentRequest request : uncached) {
+            SingleFlight<UUID, ArticleEnrichment>.Flight flight = enrichmentFlights.claim(request.article().getId());
+            if (flight.leader()) {
+                leading.add(request);
+                leadingFlights.add(flight);
+            } else {
+                following.put(request, flight);
+            }
+        }
+        Map<Integer, ArticleEnrichment> generated;
+        try {
+            generated = leading.isEmpty() ? Map.of() : generateBatch(leading);
+        } catch (RuntimeException | Error ex) {
+            leadingFlights.forEach(flight -> flight.fail(ex));
+            throw ex;
+        }
+        for (int i = 0; i < leading.size(); i++) {
+            EnrichmentRequest request = leading.get(i);
+            ArticleEnrichment enrichment = generated.get(i + 1);
+            if (enrichment != null) {
+                cachePut(cache, request.article().getId(), enrichment);
+            }
+            leadingFlights.get(i).complete(enrichment);
+            enrichments.put(request.article().getId(), enrichmentOrFallback(request, enrichment));
+        }
+        following.forEach((request, flight) -> {
+            ArticleEnrichment enrichment = null;
+            try {
+                enrichment = flight.await();
+            } catch (RuntimeException ex) {
+                log.debug("Coalesced enrichment of article {} failed: {}", request.article().getId(), ex.getMessage());
+            }
+            enrichments.put(request.article().getId(), enrichmentOrFallback(request, enrichment));
+        });
+    }
+
+    private ArticleEnrichment enrichmentOrFallback(EnrichmentRequest request, ArticleEnrichment enrichment) {
+        if (enrichment != null) {
+            return enrichment;
+        }
+        log.info("Batch enrichment returned nothing usable for article {}; using fallback generator",
+            request.article().getId());
+        return fallback.generateEnrichment(request);
+    }
+
+    private Map<Integer, ArticleEnrichment> generateBatch(List<EnrichmentRequest> requests) {
+        Map<Integer, ArticleEnrichment> generated = new LinkedHashMap<>();
+        try {
+            log.info("Invoking {} provider for batch enrichment of {} articles", properties.llm().getProvider(),
+                requests.size());
+            JsonNode content = executeForJson(BATCH_ENRICHMENT_OPERATION,
+                buildBatchEnrichmentPromptParts(requests), buildBatchEnrichmentSchema());
+            JsonNode entries = content != null && content.isObject() ? content.get("enrichments") : content;
+            if (entries == null || !entries.isArray()) {
+                log.warn("Batch enrichment response carried no enrichments array; using fallback generator");
+                return generated;
+            }
+            for (JsonNode entry : entries) {
+                JsonNode index = entry.get("index");
+                if (index == null || !index.canConvertToInt()
+                    || index.asInt() < 1 || index.asInt() > requests.size()) {
+                    continue;
+                }
+                ArticleEnrichment enrichment = parseEnrichmentEntry(entry);
+                if (enrichment != null && !enrichment.isEmpty()) {
+                    generated.putIfAbsent(index.asInt(), enrichment);
+                }
+            }
+            log.info("LLM batch enrichment generated {} of {} summaries", generated.size(), requests.size());
+        } catch (LlmCircuitBreaker.CallNotPermittedException ex) {
+            log.debug("LLM circuit open; using fallback generator");
+        } catch (Exception ex) {
+            log.warn("{} batch enrichment failed, using fallback generator", properties.llm().getProvider(), ex);
+        }
+        return generated;
+    }
+
+    private ArticleEnrichment parseEnrichmentEntry(JsonNode entry) {
+        try {
+            return parseEnrichmentContent(entry);
+        } catch (IllegalArgumentException ex) {
+            // one malformed entry, e.g. key_entities holding objects, must not cost the others their summaries
+            log.debug("Skipping malformed batch enrichment entry: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void cachePut(Cache cache, UUID articleId, ArticleEnrichment enrichment) {
+        if (cache != null) {
+            cache.put(articleId, enrichment);
+        }
+    }
+
+    private record CachedParse(String exactKey, ParsedQuery parsedQuery) {
+    }
+
     private ArticleEnrichment parseEnrichmentContent(JsonNode content) {
         if (content == null) {
             return null;
@@ -148,8 +376,8 @@ public class DelegatingLLMClient implements LLMClient {
         return ParsedQuery.create(entities, concepts, intents, filters, searchQuery, false);
     }
 
-    private JsonNode executeForJson(PromptParts prompt, ObjectNode schema) {
-        String raw = executeForString(prompt, schema);
+    private JsonNode executeForJson(String operation, PromptParts prompt, ObjectNode schema) {
+        String raw = executeForString(operation, prompt, schema);
         if (raw == null || raw.isBlank()) {
             return null;
         }
@@ -168,16 +396,25 @@ public class DelegatingLLMClient implements LLMClient {
         return null;
     }
 
-    private String executeForString(PromptParts prompt, ObjectNode schema) {
+    private String executeForString(String operation, PromptParts prompt, ObjectNode schema) {
         String baseUrl = properties.llm().getResolvedBaseUrl();
-        if (isOllama()) {
-            log.info("Calling Ollama /api/chat at {}", baseUrl);
-            JsonNode response = callOllamaChat(prompt);
-            return extractOllamaContent(response);
+        LlmCircuitBreaker.Permit permit = circuitBreaker.acquire(operation);
+        long started = System.nanoTime();
+        try {
+            String content;
+            if (isOllama()) {
+                log.info("Calling Ollama /api/chat at {} (timeout {})", baseUrl, permit.timeout());
+                content = extractOllamaContent(callOllamaChat(prompt, permit.timeout()));
+            } else {
+                log.info("Calling OpenAI-compatible /responses endpoint at {} (timeout {})", baseUrl, permit.timeout());
+                content = extractOpenAiContent(callOpenAi(buildOpenAiRequest(prompt, schema), permit.timeout()));
+            }
+            permit.succeeded(Duration.ofNanos(System.nanoTime() - started));
+            return content;
+        } catch (RuntimeException ex) {
+            permit.failed(Duration.ofNanos(System.nanoTime() - started));
+            throw ex;
         }
-        log.info("Calling OpenAI-compatible /responses endpoint at {}", baseUrl);
-        JsonNode response = callOpenAi(buildOpenAiRequest(prompt, schema));
-        return extractOpenAiContent(response);
     }
 
     private boolean isOllama() {
@@ -273,8 +510,26 @@ public class DelegatingLLMClient implements LLMClient {
         return new PromptParts(systemPrompt, userPrompt.toString());
     }
 
-    private JsonNode callOpenAi(Object body) {
-        Duration timeout = properties.llm().getRequestTimeout();
+    private PromptParts buildBatchEnrichmentPromptParts(List<EnrichmentRequest> requests) {
+        String systemPrompt = "You summarize news articles in concise bullet points.";
+        StringBuilder userPrompt = new StringBuilder();
+        for (int i = 0; i < requests.size(); i++) {
+            EnrichmentRequest request = requests.get(i);
+            userPrompt.append("Article ").append(i + 1).append('\n');
+            userPrompt.append("Title: ").append(request.article().getTitle()).append('\n');
+            userPrompt.append("Description: ").append(request.article().getDescription()).append('\n');
+            userPrompt.append("Source: ").append(request.article().getSourceName()).append("\n\n");
+        }
+        EnrichmentRequest first = requests.get(0);
+        if (first.userLatitude() != null && first.userLongitude() != null) {
+            userPrompt.append("User location available for relevance explanation.\n");
+        }
+        userPrompt.append("Return only JSON of the form {\"enrichments\": [...]} with one object per article, ")
+            .append("each containing index (the article number), summary, key_entities, and why_relevant.");
+        return new PromptParts(systemPrompt, userPrompt.toString());
+    }
+
+    private JsonNode callOpenAi(Object body, Duration timeout) {
         return webClient.post()
             .uri("/responses")
             .headers(headers -> {
@@ -291,7 +546,7 @@ public class DelegatingLLMClient implements LLMClient {
             .block();
     }
 
-    private JsonNode callOllamaChat(PromptParts prompt) {
+    private JsonNode callOllamaChat(PromptParts prompt, Duration timeout) {
         ObjectNode body = objectMapper.createObjectNode();
         body.put("model", properties.llm().getModel());
         body.put("stream", false);
@@ -299,7 +554,6 @@ public class DelegatingLLMClient implements LLMClient {
         messages.add(chatMessage("system", prompt.systemPrompt()));
         messages.add(chatMessage("user", prompt.userPrompt()));
         body.set("messages", messages);
-        Duration timeout = properties.llm().getRequestTimeout();
         return webClient.post()
             .uri("/api/chat")
             .contentType(MediaType.APPLICATION_JSON)
@@ -389,7 +643,43 @@ public class DelegatingLLMClient implements LLMClient {
         schemaNode.put("type", "json_schema");
         ObjectNode jsonSchema = objectMapper.createObjectNode();
         jsonSchema.put("name", "news_enrichment_schema");
+        jsonSchema.set("schema", enrichmentObjectSchema());
+        schemaNode.set("json_schema", jsonSchema);
+        return schemaNode;
+    }
+
+    /**
+     * {@link #buildEnrichmentSchema()} for several articles: an {@code enrichments} array of the same objects, each
+     * carrying the {@code index} of the article it describes.
+     */
+    private ObjectNode buildBatchEnrichmentSchema() {
+        ObjectNode schemaNode = objectMapper.createObjectNode();
+        schemaNode.put("type", "json_schema");
+        ObjectNode jsonSchema = objectMapper.createObjectNode();
+        jsonSchema.put("name", "news_batch_enrichment_schema");
+
+        ObjectNode item = enrichmentObjectSchema();
+        ((ObjectNode) item.get("properties")).set("index", simpleType("integer"));
+        ((ArrayNode) item.get("required")).insert(0, "index");
+        ObjectNode enrichments = objectMapper.createObjectNode();
+        enrichments.put("type", "array");
+        enrichments.set("items", item);
 
+        ObjectNode schemaBody = objectMapper.createObjectNode();
+        schemaBody.put("type", "object");
+        ArrayNode required = objectMapper.createArrayNode();
+        required.add("enrichments");
+        schemaBody.set("required", required);
+        ObjectNode properties = objectMapper.createObjectNode();
+        properties.set("enrichments", enrichments);
+        schemaBody.set("properties", properties);
+
+        jsonSchema.set("schema", schemaBody);
+        schemaNode.set("json_schema", jsonSchema);
+        return schemaNode;
+    }
+
+    private ObjectNode enrichmentObjectSchema() {
         ObjectNode schemaBody = objectMapper.createObjectNode();
         schemaBody.put("type", "object");
         ArrayNode required = objectMapper.createArrayNode();
@@ -402,9 +692,7 @@ public class DelegatingLLMClient implements LLMClient {
         properties.set("why_relevant", simpleType("string"));
 
         schemaBody.set("properties", properties);
-        jsonSchema.set("schema", schemaBody);
-        schemaNode.set("json_schema", jsonSchema);
-        return schemaNode;
+        return schemaBody;
     }
 
     private ObjectNode simpleType(String type) {
@@ -4,10 +4,26 @@ import com.contextual.news.llm.model.ArticleEnrichment;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.service.dto.EnrichmentRequest;
 import com.contextual.news.service.dto.QueryUnderstandingContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public interface LLMClient {
 
     ParsedQuery parseQuery(QueryUnderstandingContext context);
 
     ArticleEnrichment generateEnrichment(EnrichmentRequest request);
+
+    /**
+     * Enrichments for several articles, keyed by article id, with an entry for every request. Clients that can
+     * answer them in one round trip override this; by default each article is enriched on its own.
+     */
+    default Map<UUID, ArticleEnrichment> generateEnrichments(List<EnrichmentRequest> requests) {
+        Map<UUID, ArticleEnrichment> enrichments = new LinkedHashMap<>();
+        for (EnrichmentRequest request : requests) {
+            enrichments.put(request.article().getId(), generateEnrichment(request));
+        }
+        return enrichments;
+    }
 }
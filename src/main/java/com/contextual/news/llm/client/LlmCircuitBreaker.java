@@ -0,0 +1,329 @@
+package com.contextual.news.llm.client;
+
+import com.contextual.news.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards calls to the LLM provider and decides how long each may take.
+ * <p>
+ * The outcomes of the last {@code app.llm.circuit-breaker.window-size} calls are kept; once at least
+ * {@code minimum-calls} are in and either the share that failed or the share slower than {@code slow-call-duration}
+ * reaches its threshold, the circuit opens. An open circuit refuses every call, so callers go straight to the
+ * rule-based client, until {@code open-duration} has passed; it then half-opens and lets {@code half-open-probes}
+ * calls through, whose rates close or reopen it.
+ * <p>
+ * Timeouts follow the provider's recent latency: per operation, the {@code app.llm.adaptive-timeout.percentile} of
+ * the last successful calls times {@code multiplier}, kept between {@code minimum} and {@code app.llm.request-timeout}.
+ * Probes always get the full request timeout, so a provider that recovered slower than before can still close the
+ * circuit.
+ */
+@Component
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(LlmCircuitBreaker.class);
+    private static final int TRANSITION_HISTORY = 20;
+
+    private final AppProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private long generation;
+    private Outcomes outcomes;
+    private int probesPermitted;
+    private Instant openedAt;
+    private final Deque<Transition> transitions = new ArrayDeque<>();
+
+    public LlmCircuitBreaker(AppProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.outcomes = new Outcomes(settings().getWindowSize());
+        this.rejected = Counter.builder("news.llm.circuit.rejected")
+            .description("LLM calls refused by the open circuit and answered by the rule-based client")
+            .register(meterRegistry);
+        for (State value : State.values()) {
+            Gauge.builder("news.llm.circuit.state", this, breaker -> breaker.state() == value ? 1 : 0)
+                .description("1 for the LLM circuit's current state, 0 for the others")
+                .tag("state", value.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A permit for one provider call of {@code operation}, carrying the timeout that call gets.
+     *
+     * @throws CallNotPermittedException while the circuit is open, or half-open with every probe handed out
+     */
+    public synchronized Permit acquire(String operation) {
+        AppProperties.LlmProperties.CircuitBreakerProperties settings = settings();
+        if (!settings.isEnabled()) {
+            return new Permit(generation, operation, timeoutFor(operation));
+        }
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(settings.getOpenDuration()))) {
+                rejected.increment();
+                throw new CallNotPermittedException();
+            }
+            transition(State.HALF_OPEN, "open for " + settings.getOpenDuration());
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesPermitted >= settings.getHalfOpenProbes()) {
+                rejected.increment();
+                throw new CallNotPermittedException();
+            }
+            probesPermitted++;
+            return new Permit(generation, operation, properties.llm().getRequestTimeout());
+        }
+        return new Permit(generation, operation, timeoutFor(operation));
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Snapshot snapshot() {
+        Map<String, Duration> timeouts = new LinkedHashMap<>();
+        latencies.keySet().stream().sorted().forEach(operation -> timeouts.put(operation, timeoutFor(operation)));
+        return new Snapshot(state, outcomes.size(), outcomes.failureRate(), outcomes.slowCallRate(), openedAt,
+            timeouts, List.copyOf(transitions));
+    }
+
+    /**
+     * The adaptive timeout of {@code operation}, or the fixed request timeout while too few calls have succeeded.
+     */
+    Duration timeoutFor(String operation) {
+        Duration requestTimeout = properties.llm().getRequestTimeout();
+        AppProperties.LlmProperties.AdaptiveTimeoutProperties adaptive = properties.llm().getAdaptiveTimeout();
+        if (!adaptive.isEnabled()) {
+            return requestTimeout;
+        }
+        Long percentile = latencyWindow(operation).percentile(adaptive.getPercentile(), adaptive.getMinimumSamples());
+        if (percentile == null) {
+            return requestTimeout;
+        }
+        Duration adapted = Duration.ofNanos((long) (percentile * adaptive.getMultiplier()));
+        if (adapted.compareTo(adaptive.getMinimum()) < 0) {
+            return adaptive.getMinimum();
+        }
+        return adapted.compareTo(requestTimeout) > 0 ? requestTimeout : adapted;
+    }
+
+    private synchronized void record(Permit permit, Duration latency, boolean failed) {
+        AppProperties.LlmProperties.CircuitBreakerProperties settings = settings();
+        // outcomes of calls permitted before the last transition say nothing about the current state
+        if (!settings.isEnabled() || permit.generation != generation) {
+            return;
+        }
+        outcomes.add(failed, latency.compareTo(settings.getSlowCallDuration()) >= 0);
+        if (state == State.CLOSED && outcomes.size() >= settings.getMinimumCalls() && exceedsThresholds(settings)) {
+            transition(State.OPEN, describeRates());
+        } else if (state == State.HALF_OPEN && outcomes.size() >= settings.getHalfOpenProbes()) {
+            if (exceedsThresholds(settings)) {
+                transition(State.OPEN, "probes: " + describeRates());
+            } else {
+                transition(State.CLOSED, "probes: " + describeRates());
+            }
+        }
+    }
+
+    private boolean exceedsThresholds(AppProperties.LlmProperties.CircuitBreakerProperties settings) {
+        return outcomes.failureRate() >= settings.getFailureRateThreshold()
+            || outcomes.slowCallRate() >= settings.getSlowCallRateThreshold();
+    }
+
+    private String describeRates() {
+        return String.format(Locale.ROOT, "failure rate %.2f, slow-call rate %.2f over %d calls",
+            outcomes.failureRate(), outcomes.slowCallRate(), outcomes.size());
+    }
+
+    private void transition(State to, String reason) {
+        State from = state;
+        state = to;
+        generation++;
+        probesPermitted = 0;
+        outcomes = new Outcomes(to == State.HALF_OPEN ? settings().getHalfOpenProbes() : settings().getWindowSize());
+        openedAt = to == State.OPEN ? clock.instant() : null;
+        transitions.addLast(new Transition(clock.instant(), from, to, reason));
+        while (transitions.size() > TRANSITION_HISTORY) {
+            transitions.removeFirst();
+        }
+        Counter.builder("news.llm.circuit.transitions")
+            .description("LLM circuit state changes")
+            .tag("from", from.name().toLowerCase(Locale.ROOT))
+            .tag("to", to.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .increment();
+        if (to == State.OPEN) {
+            log.warn("LLM circuit {} -> OPEN ({}); using the rule-based client for {}", from, reason,
+                settings().getOpenDuration());
+        } else {
+            log.info("LLM circuit {} -> {} ({})", from, to, reason);
+        }
+    }
+
+    private LatencyWindow latencyWindow(String operation) {
+        return latencies.computeIfAbsent(operation, ignored -> {
+            LatencyWindow window = new LatencyWindow(properties.llm().getAdaptiveTimeout().getWindow());
+            Gauge.builder("news.llm.timeout", this, breaker -> breaker.timeoutFor(operation).toNanos() / 1e9)
+                .description("Timeout the next LLM call of the operation gets")
+                .tag("operation", operation)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            return window;
+        });
+    }
+
+    private AppProperties.LlmProperties.CircuitBreakerProperties settings() {
+        return properties.llm().getCircuitBreaker();
+    }
+
+    /**
+     * Entitles its holder to one provider call, whose outcome it must report.
+     */
+    public final class Permit {
+
+        private final long generation;
+        private final String operation;
+        private final Duration timeout;
+
+        private Permit(long generation, String operation, Duration timeout) {
+            this.generation = generation;
+            this.operation = operation;
+            this.timeout = timeout;
+        }
+
+        public Duration timeout() {
+            return timeout;
+        }
+
+        public void succeeded(Duration latency) {
+            latencyWindow(operation).add(latency.toNanos());
+            record(this, latency, false);
+        }
+
+        public void failed(Duration latency) {
+            record(this, latency, true);
+        }
+    }
+
+    public record Transition(Instant at, State from, State to, String reason) {
+    }
+
+    public record Snapshot(
+        State state,
+        int bufferedCalls,
+        double failureRate,
+        double slowCallRate,
+        Instant openedAt,
+        Map<String, Duration> timeouts,
+        List<Transition> transitions
+    ) {
+    }
+
+    public static class CallNotPermittedException extends RuntimeException {
+
+        public CallNotPermittedException() {
+            super("LLM circuit is open");
+        }
+    }
+
+    /**
+     * Ring buffer of call outcomes.
+     */
+    private static final class Outcomes {
+
+        private final boolean[] failed;
+        private final boolean[] slow;
+        private int next;
+        private int size;
+        private int failures;
+        private int slowCalls;
+
+        private Outcomes(int capacity) {
+            this.failed = new boolean[capacity];
+            this.slow = new boolean[capacity];
+        }
+
+        private void add(boolean failure, boolean slowCall) {
+            if (size == failed.length) {
+                failures -= failed[next] ? 1 : 0;
+                slowCalls -= slow[next] ? 1 : 0;
+            } else {
+                size++;
+            }
+            failed[next] = failure;
+            slow[next] = slowCall;
+            failures += failure ? 1 : 0;
+            slowCalls += slowCall ? 1 : 0;
+            next = (next + 1) % failed.length;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private double failureRate() {
+            return size == 0 ? 0 : (double) failures / size;
+        }
+
+        private double slowCallRate() {
+            return size == 0 ? 0 : (double) slowCalls / size;
+        }
+    }
+
+    /**
+     * Latencies, in nanoseconds, of an operation's last successful calls.
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        private LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        private synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        private synchronized Long percentile(double percentile, int minimumSamples) {
+            if (size < minimumSamples) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.contextual.news.llm.client;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/llm}: the LLM circuit's state, the rates it is judged on, the current adaptive timeouts and its
+ * recent transitions.
+ */
+@Component
+@Endpoint(id = "llm")
+public class LlmCircuitBreakerEndpoint {
+
+    private final LlmCircuitBreaker circuitBreaker;
+
+    public LlmCircuitBreakerEndpoint(LlmCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @ReadOperation
+    public LlmCircuitBreaker.Snapshot circuit() {
+        return circuitBreaker.snapshot();
+    }
+}
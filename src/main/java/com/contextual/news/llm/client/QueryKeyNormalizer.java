@@ -0,0 +1,64 @@
+package com.contextual.news.llm.client;
+
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.dto.QueryUnderstandingContext;
+import com.contextual.news.service.util.GeoBucketer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Cache keys for query understanding. Queries that differ only in case or whitespace share a key, and so do callers
+ * in the same grid cell of {@code app.llm.query-location-cell-degrees}: a parse does not depend on where exactly in
+ * a few kilometres the user stands. What a cached parse says about that position is {@link #rebind re-bound} to each
+ * caller's own coordinates.
+ */
+final class QueryKeyNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final GeoBucketer bucketer;
+
+    QueryKeyNormalizer(GeoBucketer bucketer) {
+        this.bucketer = bucketer;
+    }
+
+    String key(QueryUnderstandingContext context) {
+        String query = context.query() != null
+            ? WHITESPACE.matcher(context.query().strip()).replaceAll(" ").toLowerCase(Locale.ROOT)
+            : "";
+        // radius and threshold are part of the parse's filters, so they stay exact
+        return query + '|' + cell(context.latitude(), context.longitude())
+            + '|' + context.radiusKm() + '|' + context.scoreThreshold();
+    }
+
+    /**
+     * The key query understanding was cached under before keys were normalized; a hit whose entry was stored under
+     * a different one is a hit normalization earned.
+     */
+    static String exactKey(QueryUnderstandingContext context) {
+        return context.query() + ':' + context.latitude() + ':' + context.longitude();
+    }
+
+    /**
+     * {@code parsed} as it applies to this caller: a filter location in the caller's cell came from the location of
+     * whoever was parsed first and is replaced by the caller's own; a location elsewhere, a place the query named,
+     * is kept.
+     */
+    ParsedQuery rebind(ParsedQuery parsed, QueryUnderstandingContext context) {
+        ParsedQuery.Filters filters = parsed.filters();
+        if (filters.latitude() == null || filters.longitude() == null
+            || context.latitude() == null || context.longitude() == null) {
+            return parsed;
+        }
+        if (!cell(filters.latitude(), filters.longitude()).equals(cell(context.latitude(), context.longitude()))) {
+            return parsed;
+        }
+        return parsed.withFilters(new ParsedQuery.Filters(filters.category(), filters.source(),
+            filters.scoreThreshold(), filters.radiusKm(), context.latitude(), context.longitude(),
+            filters.dateFrom(), filters.dateTo()));
+    }
+
+    private String cell(Double latitude, Double longitude) {
+        return latitude != null && longitude != null ? bucketer.bucketId(latitude, longitude) : "-";
+    }
+}
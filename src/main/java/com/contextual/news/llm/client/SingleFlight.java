@@ -0,0 +1,103 @@
+package com.contextual.news.llm.client;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call, and everyone who asks for the key
+ * while it is in flight waits for that call's outcome instead of issuing their own. A value, including {@code null},
+ * or a failure reaches every waiter alike. Nothing is kept once the call lands; remembering results is the caches'
+ * job.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * The outcome of {@code call}, run by this caller unless a call for {@code key} is already in flight.
+     */
+    V execute(K key, Supplier<V> call) {
+        Flight flight = claim(key);
+        if (!flight.leader()) {
+            return flight.await();
+        }
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.fail(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Joins the call in flight for {@code key}, or, when there is none, makes the caller its leader. A leader must
+     * {@link Flight#complete(Object) complete} or {@link Flight#fail(Throwable) fail} the flight, or later callers
+     * for the key wait forever.
+     */
+    Flight claim(K key) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return new Flight(key, existing, false);
+        }
+        return new Flight(key, own, true);
+    }
+
+    final class Flight {
+
+        private final K key;
+        private final CompletableFuture<V> future;
+        private final boolean leader;
+
+        private Flight(K key, CompletableFuture<V> future, boolean leader) {
+            this.key = key;
+            this.future = future;
+            this.leader = leader;
+        }
+
+        boolean leader() {
+            return leader;
+        }
+
+        void complete(V value) {
+            // released first, so a caller arriving after the outcome starts afresh instead of reading a landed flight
+            inFlight.remove(key, future);
+            future.complete(value);
+        }
+
+        void fail(Throwable failure) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(failure);
+        }
+
+        /**
+         * The leader's value, or its failure rethrown as it was thrown.
+         */
+        V await() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -56,6 +56,10 @@ public final class ParsedQuery {
         return new ParsedQuery(entities, concepts, intents, filters, searchQuery, true);
     }
 
+    public ParsedQuery withFilters(Filters value) {
+        return new ParsedQuery(entities, concepts, intents, value, searchQuery, fallbackUsed);
+    }
+
     public static ParsedQuery fallback(String query) {
         return create(List.of(), List.of(), EnumSet.of(QueryIntent.SEARCH), Filters.empty(), query, true);
     }
@@ -97,5 +101,9 @@ public final class ParsedQuery {
         public static Filters empty() {
             return new Filters(null, null, null, null, null, null, null, null);
         }
+
+        public Filters withDateFrom(OffsetDateTime value) {
+            return new Filters(category, source, scoreThreshold, radiusKm, latitude, longitude, value, dateTo);
+        }
     }
 }
@@ -2,14 +2,21 @@ package com.contextual.news.service;
 
 import com.contextual.news.api.dto.NewsQueryRequest;
 import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.ArticleCandidate;
 import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleProjection;
+import com.contextual.news.domain.query.RankingOrder;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.llm.model.QueryIntent;
 import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
 import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.retrieval.ArticleHydrator;
+import com.contextual.news.service.retrieval.ArticleStatistics;
 import com.contextual.news.service.retrieval.RetrievalContext;
 import com.contextual.news.service.retrieval.RetrievalSupport;
 import com.contextual.news.service.util.GeoUtils;
+import com.contextual.news.service.util.TextTokenizer;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.OffsetDateTime;
@@ -17,59 +24,199 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ArticleRankingService {
 
+    private static final double SCORE_TOLERANCE = 1e-9;
+
     private final AppProperties properties;
     private final Clock clock;
+    private final ArticleHydrator hydrator;
 
-    public ArticleRankingService(AppProperties properties, Clock clock) {
+    public ArticleRankingService(AppProperties properties, Clock clock, ArticleHydrator hydrator) {
         this.properties = properties;
         this.clock = clock;
+        this.hydrator = hydrator;
     }
 
-    public List<ArticleScore> scoreArticles(List<RetrievedArticle> candidates, RetrievalContext context) {
+    /**
+     * Scores every candidate, then hydrates only the best {@code limit} into full articles, best first; ties are
+     * broken by id so pages have a total order. On a continuation page only candidates after the cursor are kept.
+     */
+    public List<ArticleScore> scoreArticles(List<RetrievedArticle> candidates, RetrievalContext context, int limit) {
         ParsedQuery parsedQuery = context.parsedQuery();
         NewsQueryRequest request = context.request();
-        List<ArticleScore> scores = new ArrayList<>(candidates.size());
+        OffsetDateTime now = asOf(context);
+        PageCursor after = context.after();
+        List<RankedCandidate> ranked = new ArrayList<>(candidates.size());
+        Set<String> queryTokens = queryTokens(parsedQuery, request.query());
         for (RetrievedArticle candidate : candidates) {
-            ArticleScore score = scoreCandidate(candidate, parsedQuery, request);
-            scores.add(score);
+            RankedCandidate scored = scoreCandidate(candidate, parsedQuery, request, queryTokens, now);
+            if (after == null || after.isBefore(scored.finalScore(), scored.article().getId())) {
+                ranked.add(scored);
+            }
         }
-        return scores.stream()
-            .sorted(Comparator.comparingDouble(ArticleScore::finalScore).reversed())
+        ranked.sort(Comparator.comparingDouble(RankedCandidate::finalScore).reversed()
+            .thenComparing(candidate -> candidate.article().getId()));
+        List<RankedCandidate> top = ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size()));
+        Map<UUID, NewsArticle> articles = hydrator.hydrate(top.stream().map(RankedCandidate::article).toList());
+        // a candidate deleted between the two phases simply drops out of the page
+        return top.stream()
+            .filter(candidate -> articles.containsKey(candidate.article().getId()))
+            .map(candidate -> candidate.toScore(articles.get(candidate.article().getId())))
             .collect(Collectors.toList());
     }
 
-    private ArticleScore scoreCandidate(RetrievedArticle candidate, ParsedQuery parsedQuery, NewsQueryRequest request) {
-        NewsArticle article = candidate.article();
+    /**
+     * How many of {@code candidates} rank after the cursor of {@code context}; all of them on a first page.
+     */
+    public int countAfterCursor(List<RetrievedArticle> candidates, RetrievalContext context) {
+        PageCursor after = context.after();
+        if (after == null) {
+            return candidates.size();
+        }
+        ParsedQuery parsedQuery = context.parsedQuery();
+        NewsQueryRequest request = context.request();
+        OffsetDateTime now = asOf(context);
+        Set<String> queryTokens = queryTokens(parsedQuery, request.query());
+        int count = 0;
+        for (RetrievedArticle candidate : candidates) {
+            RankedCandidate scored = scoreCandidate(candidate, parsedQuery, request, queryTokens, now);
+            if (after.isBefore(scored.finalScore(), scored.article().getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether at least {@code limit} of {@code candidates}, all published at or after the start of {@code window},
+     * rank after the cursor and above the best final score any article published before it could reach. Such a page
+     * is the same whether or not the older articles were searched. Recency is bounded by its value at the window
+     * start and proximity by its maximum; relevance and semantic similarity by what the window's per-token summary
+     * of the older articles allows, see {@link #olderRelevanceAndSemanticBound}.
+     */
+    public boolean outranksOlder(List<RetrievedArticle> candidates, RetrievalContext context,
+                                 ArticleStatistics.RecencyWindow window, int limit) {
+        if (candidates.size() < limit) {
+            return false;
+        }
+        ParsedQuery parsedQuery = context.parsedQuery();
+        NewsQueryRequest request = context.request();
+        OffsetDateTime now = asOf(context);
         AppProperties.RankingProperties ranking = properties.ranking();
+        Set<String> queryTokens = queryTokens(parsedQuery, request.query());
+        double recencyBound = calculateRecencyContribution(window.start(), ranking.getRecencyHalfLifeDays(), now);
+        double bound = olderRelevanceAndSemanticBound(queryTokens, window)
+            + ranking.getRecencyWeight() * recencyBound
+            + (request.userLocation() == null ? 0.0 : ranking.getProximityWeight());
+        PageCursor after = context.after();
+        int above = 0;
+        for (RetrievedArticle candidate : candidates) {
+            RankedCandidate scored = scoreCandidate(candidate, parsedQuery, request, queryTokens, now);
+            // strictly above: an older article at the bound could still come first on a tie
+            if (scored.finalScore() > bound
+                && (after == null || after.isBefore(scored.finalScore(), scored.article().getId()))
+                && ++above >= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        double relevanceContribution = normalize(article.getRelevanceScore());
-        double recencyContribution = calculateRecencyContribution(article.getPublicationDate(), ranking.getRecencyHalfLifeDays());
-        double semanticContribution = calculateSemanticContribution(parsedQuery, request.query(), article);
-        double proximityContribution = calculateProximityContribution(candidate, request);
+    /**
+     * The best weighted relevance plus semantic similarity an article published before {@code window} can reach.
+     * An older article sharing the query tokens {@code S} has a digest of at least {@code m} tokens, the largest
+     * smallest digest among {@code S}, and a relevance score of at most {@code r}, the smallest best relevance among
+     * {@code S}; its similarity is then at most {@code |S| / (max(|S|, m) + |query| - |S|)}. Rather than every subset,
+     * each pair of thresholds {@code (r, m)} taken from the shared tokens is tried with all the tokens that satisfy
+     * both, which only raises the similarity, so the result is never below the true best.
+     */
+    private double olderRelevanceAndSemanticBound(Set<String> queryTokens, ArticleStatistics.RecencyWindow window) {
+        AppProperties.RankingProperties ranking = properties.ranking();
+        // an article sharing no token with the query earns relevance alone
+        double best = ranking.getRelevanceWeight() * normalize(window.maxRelevanceBefore());
+        List<ArticleStatistics.TokenSummary> shared = queryTokens.stream()
+            .map(window.tokens()::get)
+            .filter(Objects::nonNull)
+            .toList();
+        for (ArticleStatistics.TokenSummary relevance : shared) {
+            for (ArticleStatistics.TokenSummary size : shared) {
+                int common = 0;
+                for (ArticleStatistics.TokenSummary token : shared) {
+                    if (token.maxRelevance() >= relevance.maxRelevance()
+                        && token.minDigestSize() <= size.minDigestSize()) {
+                        common++;
+                    }
+                }
+                if (common == 0) {
+                    continue;
+                }
+                double semantic = (double) common
+                    / (Math.max(common, size.minDigestSize()) + queryTokens.size() - common);
+                best = Math.max(best, ranking.getRelevanceWeight() * normalize(relevance.maxRelevance())
+                    + ranking.getSemanticWeight() * semantic);
+            }
+        }
+        return best;
+    }
 
-        double finalScore = ranking.getRelevanceWeight() * relevanceContribution
-            + ranking.getRecencyWeight() * recencyContribution
-            + ranking.getSemanticWeight() * semanticContribution
-            + ranking.getProximityWeight() * proximityContribution;
+    /**
+     * The ranking formula's inputs for the candidate queries of {@code context}, so the database can order by an
+     * approximation of the final score instead of stored relevance alone. Built once per request so every branch
+     * shares the same clock reading; for a located user every branch carries the origin, as every candidate earns
+     * proximity whichever strategy retrieved it.
+     */
+    public RankingOrder rankingOrder(RetrievalContext context) {
+        AppProperties.RankingProperties ranking = properties.ranking();
+        List<String> tokens = queryTokens(context.parsedQuery(), context.request().query()).stream().sorted().toList();
+        // the database evaluates the formula in its own floating point; the exact cut is made in scoreArticles
+        Double maximumScore = context.after() != null ? context.after().score() + SCORE_TOLERANCE : null;
+        RankingOrder order = new RankingOrder(ranking.getRelevanceWeight(), ranking.getRecencyWeight(),
+            ranking.getSemanticWeight(), ranking.getProximityWeight(), ranking.getRecencyHalfLifeDays(), asOf(context),
+            tokens, null, null, null, maximumScore);
+        if (context.request().userLocation() == null) {
+            return order;
+        }
+        return order.withOrigin(RetrievalSupport.resolveLatitude(context), RetrievalSupport.resolveLongitude(context),
+            RetrievalSupport.resolveRadius(context));
+    }
+
+    private RankedCandidate scoreCandidate(RetrievedArticle candidate, ParsedQuery parsedQuery, NewsQueryRequest request,
+                                           Set<String> queryTokens, OffsetDateTime now) {
+        ArticleCandidate article = candidate.article();
+        AppProperties.RankingProperties ranking = properties.ranking();
+
+        double relevanceContribution = normalize(article.getRelevanceScore());
+        double recencyContribution = calculateRecencyContribution(article.getPublicationDate(), ranking.getRecencyHalfLifeDays(),
+            now);
+        double semanticContribution = calculateSemanticContribution(queryTokens, article);
 
         Double distance = null;
-        Double userLat = RetrievalSupport.resolveLatitude(new RetrievalContext(request, parsedQuery));
-        Double userLon = RetrievalSupport.resolveLongitude(new RetrievalContext(request, parsedQuery));
+        RetrievalContext located = new RetrievalContext(request, parsedQuery);
+        Double userLat = RetrievalSupport.resolveLatitude(located);
+        Double userLon = RetrievalSupport.resolveLongitude(located);
         if (userLat != null && userLon != null && article.getLatitude() != null && article.getLongitude() != null) {
             distance = GeoUtils.distanceKm(userLat, userLon, article.getLatitude(), article.getLongitude());
         }
+        double proximityContribution = calculateProximityContribution(distance, request,
+            RetrievalSupport.resolveRadius(located));
+
+        double finalScore = ranking.getRelevanceWeight() * relevanceContribution
+            + ranking.getRecencyWeight() * recencyContribution
+            + ranking.getSemanticWeight() * semanticContribution
+            + ranking.getProximityWeight() * proximityContribution;
 
         String matchReason = determineMatchReason(parsedQuery, candidate.strategy());
 
-        return new ArticleScore(article, finalScore, distance, matchReason,
+        return new RankedCandidate(article, finalScore, distance, matchReason,
             relevanceContribution, recencyContribution, semanticContribution, proximityContribution);
     }
 
@@ -89,27 +236,35 @@ public class ArticleRankingService {
         return strategy;
     }
 
-    private double calculateProximityContribution(RetrievedArticle candidate, NewsQueryRequest request) {
-        if (request.userLocation() == null) {
+    /**
+     * Linear decay from the origin to the edge of the radius, for a located user only. Computed from the article's
+     * coordinates rather than the retrieving strategy's score, so an article ranks the same whichever strategy
+     * claimed it.
+     */
+    private double calculateProximityContribution(Double distanceKm, NewsQueryRequest request, double radiusKm) {
+        if (request.userLocation() == null || distanceKm == null || radiusKm <= 0) {
             return 0.0;
         }
-        if (!"nearby".equals(candidate.strategy())) {
-            return 0.0;
-        }
-        return Math.max(0.0, Math.min(1.0, candidate.primaryScore()));
+        return Math.max(0.0, 1.0 - Math.min(distanceKm / radiusKm, 1.0));
+    }
+
+    private OffsetDateTime asOf(RetrievalContext context) {
+        return context.asOf() != null ? context.asOf() : OffsetDateTime.now(clock);
     }
 
-    private double calculateSemanticContribution(ParsedQuery parsedQuery, String query, NewsArticle article) {
+    private Set<String> queryTokens(ParsedQuery parsedQuery, String query) {
         Set<String> queryTokens = tokenize(query);
         if (parsedQuery.searchQuery() != null) {
             queryTokens.addAll(tokenize(parsedQuery.searchQuery()));
         }
+        return queryTokens;
+    }
+
+    private double calculateSemanticContribution(Set<String> queryTokens, ArticleCandidate article) {
         if (queryTokens.isEmpty()) {
             return 0.0;
         }
-        Set<String> articleTokens = new HashSet<>();
-        articleTokens.addAll(tokenize(article.getTitle()));
-        articleTokens.addAll(tokenize(article.getDescription()));
+        Set<String> articleTokens = articleTokens(article);
         if (articleTokens.isEmpty()) {
             return 0.0;
         }
@@ -120,26 +275,28 @@ public class ArticleRankingService {
         return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
     }
 
-    private Set<String> tokenize(String text) {
-        if (text == null || text.isBlank()) {
-            return new HashSet<>();
-        }
-        String normalized = text.toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9 ]", " ");
-        String[] tokens = normalized.split("\\s+");
-        Set<String> result = new HashSet<>();
-        for (String token : tokens) {
-            if (token.length() > 2) {
-                result.add(token);
-            }
+    private Set<String> articleTokens(ArticleCandidate article) {
+        if (article instanceof ArticleProjection projection) {
+            // the stored digest is the same token set, computed by the database
+            return projection.getTokenDigest();
+        }
+        Set<String> articleTokens = new HashSet<>();
+        if (article instanceof NewsArticle entity) {
+            articleTokens.addAll(tokenize(entity.getTitle()));
+            articleTokens.addAll(tokenize(entity.getDescription()));
         }
-        return result;
+        return articleTokens;
     }
 
-    private double calculateRecencyContribution(OffsetDateTime publicationDate, double halfLifeDays) {
+    private Set<String> tokenize(String text) {
+        return new HashSet<>(TextTokenizer.tokens(text));
+    }
+
+    private double calculateRecencyContribution(OffsetDateTime publicationDate, double halfLifeDays, OffsetDateTime now) {
         if (publicationDate == null) {
             return 0.0;
         }
-        Duration age = Duration.between(publicationDate, OffsetDateTime.now(clock));
+        Duration age = Duration.between(publicationDate, now);
         double days = age.toHours() / 24.0;
         if (days <= 0) {
             return 1.0;
@@ -163,4 +320,20 @@ public class ArticleRankingService {
         }
         return value;
     }
+
+    private record RankedCandidate(
+        ArticleCandidate article,
+        double finalScore,
+        Double distanceKm,
+        String matchReason,
+        double relevanceContribution,
+        double recencyContribution,
+        double semanticContribution,
+        double proximityContribution
+    ) {
+        ArticleScore toScore(NewsArticle hydrated) {
+            return new ArticleScore(hydrated, finalScore, distanceKm, matchReason,
+                relevanceContribution, recencyContribution, semanticContribution, proximityContribution);
+        }
+    }
 }
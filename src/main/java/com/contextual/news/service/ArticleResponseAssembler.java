@@ -4,24 +4,64 @@ import com.contextual.news.api.dto.NewsQueryResponse;
 import com.contextual.news.config.AppProperties;
 import com.contextual.news.domain.model.NewsArticle;
 import com.contextual.news.llm.client.LLMClient;
+import com.contextual.news.llm.client.RuleBasedLLMClient;
 import com.contextual.news.llm.model.ArticleEnrichment;
 import com.contextual.news.service.dto.EnrichmentRequest;
 import com.contextual.news.service.model.ArticleScore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builds the article results of a response, enriching the top {@code app.enrichment.top-n} articles.
+ * <p>
+ * The articles are grouped into batches of {@code app.enrichment.batch-size}, each enriched by one
+ * {@link LLMClient#generateEnrichments(List) call}. Batches run concurrently on the {@code enrichmentExecutor}, at
+ * most {@code app.enrichment.parallelism} per response, and the response waits for them no longer than
+ * {@code app.enrichment.deadline}. Articles whose enrichment has not finished by then get the
+ * {@link RuleBasedLLMClient rule-based} one; calls already in flight still complete and land in the enrichment cache
+ * for the next request.
+ */
 @Component
 public class ArticleResponseAssembler {
 
+    private static final Logger log = LoggerFactory.getLogger(ArticleResponseAssembler.class);
+
     private final LLMClient llmClient;
+    private final RuleBasedLLMClient fallback;
+    private final Executor enrichmentExecutor;
     private final AppProperties properties;
+    private final Counter fallbacks;
 
-    public ArticleResponseAssembler(LLMClient llmClient, AppProperties properties) {
+    public ArticleResponseAssembler(LLMClient llmClient,
+                                    RuleBasedLLMClient fallback,
+                                    @Qualifier("enrichmentExecutor") Executor enrichmentExecutor,
+                                    AppProperties properties,
+                                    MeterRegistry meterRegistry) {
         this.llmClient = llmClient;
+        this.fallback = fallback;
+        this.enrichmentExecutor = enrichmentExecutor;
         this.properties = properties;
+        this.fallbacks = Counter.builder("news.enrichment.fallback")
+            .description("Articles that got the rule-based enrichment because theirs missed the enrichment deadline")
+            .register(meterRegistry);
     }
 
     public Map<NewsArticle, ArticleEnrichment> enrichTopArticles(
@@ -31,21 +71,84 @@ public class ArticleResponseAssembler {
         Double longitude
     ) {
         int topN = Math.min(properties.enrichment().getTopN(), scores.size());
-        Map<NewsArticle, ArticleEnrichment> enrichment = new HashMap<>();
+        if (topN == 0) {
+            return new HashMap<>();
+        }
+        Duration deadline = properties.enrichment().getDeadline();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        int batchSize = Math.max(1, properties.enrichment().getBatchSize());
+        ConcurrentLinkedQueue<List<EnrichmentRequest>> pending = new ConcurrentLinkedQueue<>();
+        List<EnrichmentRequest> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < topN; i++) {
+            ArticleScore score = scores.get(i);
+            batch.add(new EnrichmentRequest(score.article(), query, latitude, longitude, score));
+            if (batch.size() == batchSize || i == topN - 1) {
+                pending.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        Map<NewsArticle, ArticleEnrichment> completed = new ConcurrentHashMap<>();
+        // each lane works through the shared queue, so a response never holds more than `parallelism` threads
+        int lanes = Math.min(Math.max(1, properties.enrichment().getParallelism()), pending.size());
+        List<CompletableFuture<Void>> running = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            try {
+                running.add(CompletableFuture.runAsync(() -> drain(pending, completed, deadlineNanos), enrichmentExecutor));
+            } catch (RejectedExecutionException ex) {
+                log.warn("Enrichment executor saturated; continuing with {} of {} lanes", running.size(), lanes);
+                break;
+            }
+        }
+        await(CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)), deadlineNanos, deadline);
+
+        Map<NewsArticle, ArticleEnrichment> enrichment = new HashMap<>(completed);
         for (int i = 0; i < topN; i++) {
             ArticleScore score = scores.get(i);
-            ArticleEnrichment articleEnrichment = llmClient.generateEnrichment(new EnrichmentRequest(
-                score.article(),
-                query,
-                latitude,
-                longitude,
-                score
-            ));
-            enrichment.put(score.article(), articleEnrichment);
+            if (!enrichment.containsKey(score.article())) {
+                fallbacks.increment();
+                enrichment.put(score.article(), fallback.generateEnrichment(
+                    new EnrichmentRequest(score.article(), query, latitude, longitude, score)));
+            }
         }
         return enrichment;
     }
 
+    private void drain(ConcurrentLinkedQueue<List<EnrichmentRequest>> pending,
+                       Map<NewsArticle, ArticleEnrichment> completed,
+                       long deadlineNanos) {
+        List<EnrichmentRequest> batch;
+        // past the deadline the response no longer waits, so starting another call would only cost LLM time
+        while (System.nanoTime() - deadlineNanos < 0 && (batch = pending.poll()) != null) {
+            try {
+                if (batch.size() == 1) {
+                    completed.put(batch.get(0).article(), llmClient.generateEnrichment(batch.get(0)));
+                } else {
+                    Map<UUID, ArticleEnrichment> enrichments = llmClient.generateEnrichments(batch);
+                    for (EnrichmentRequest request : batch) {
+                        ArticleEnrichment enrichment = enrichments.get(request.article().getId());
+                        if (enrichment != null) {
+                            completed.put(request.article(), enrichment);
+                        }
+                    }
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Enrichment of {} articles failed; using the rule-based one", batch.size(), ex);
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> lanes, long deadlineNanos, Duration deadline) {
+        try {
+            lanes.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            log.info("Enrichment exceeded {}; answering with what finished in time", deadline);
+        } catch (ExecutionException ex) {
+            log.warn("Enrichment failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public NewsQueryResponse.ArticleResult toArticleResult(ArticleScore score, ArticleEnrichment enrichment) {
         NewsArticle article = score.article();
         ArticleEnrichment safeEnrichment = enrichment != null ? enrichment : ArticleEnrichment.empty();
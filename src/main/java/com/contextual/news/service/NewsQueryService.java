@@ -8,9 +8,12 @@ import com.contextual.news.llm.client.LLMClient;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.service.dto.QueryUnderstandingContext;
 import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
 import com.contextual.news.service.model.RetrievedArticle;
 import com.contextual.news.service.retrieval.ArticleRetrievalService;
 import com.contextual.news.service.retrieval.RetrievalContext;
+import java.time.Clock;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,15 +27,18 @@ public class NewsQueryService {
     private final ArticleRetrievalService retrievalService;
     private final ArticleRankingService rankingService;
     private final ArticleResponseAssembler responseAssembler;
+    private final Clock clock;
 
     public NewsQueryService(LLMClient llmClient,
                             ArticleRetrievalService retrievalService,
                             ArticleRankingService rankingService,
-                            ArticleResponseAssembler responseAssembler) {
+                            ArticleResponseAssembler responseAssembler,
+                            Clock clock) {
         this.llmClient = llmClient;
         this.retrievalService = retrievalService;
         this.rankingService = rankingService;
         this.responseAssembler = responseAssembler;
+        this.clock = clock;
     }
 
     @Transactional(readOnly = true)
@@ -49,7 +55,13 @@ public class NewsQueryService {
     private NewsQueryResponse executeQuery(NewsQueryRequest request, ParsedQuery parsedQuery) {
         ParsedQuery adjusted = enrichFiltersWithRequest(parsedQuery, request);
 
-        RetrievalContext retrievalContext = new RetrievalContext(request, adjusted);
+        String scope = scopeOf(request, adjusted);
+        PageCursor after = PageCursor.decode(request.cursor());
+        if (after != null) {
+            after.requireScope(scope);
+        }
+        OffsetDateTime asOf = after != null ? after.asOf() : OffsetDateTime.now(clock);
+        RetrievalContext retrievalContext = new RetrievalContext(request, adjusted, asOf, after);
         int limit = request.resolvedLimit();
         List<RetrievedArticle> retrieved = retrievalService.retrieveArticles(retrievalContext, limit);
         if (retrieved.isEmpty()) {
@@ -61,12 +73,13 @@ public class NewsQueryService {
                     mapFilters(adjusted.filters()),
                     adjusted.fallbackUsed()
                 ),
-                List.of()
+                List.of(),
+                null
             );
         }
 
-        List<ArticleScore> scored = rankingService.scoreArticles(retrieved, retrievalContext);
-        List<ArticleScore> top = scored.stream().limit(limit).collect(Collectors.toList());
+        List<ArticleScore> top = rankingService.scoreArticles(retrieved, retrievalContext, limit);
+        retrievalService.recordOutcome(retrievalContext, limit, retrieved, top);
         Map<com.contextual.news.domain.model.NewsArticle, com.contextual.news.llm.model.ArticleEnrichment> enrichmentMap =
             responseAssembler.enrichTopArticles(top, request.query(), adjusted.filters().latitude(), adjusted.filters().longitude());
 
@@ -82,10 +95,27 @@ public class NewsQueryService {
                 mapFilters(adjusted.filters()),
                 adjusted.fallbackUsed()
             ),
-            articles
+            articles,
+            // a short page is the last one; a full one may still be followed by an empty page
+            top.size() < limit ? null : PageCursor.after(asOf, top.get(top.size() - 1), scope).encode()
         );
     }
 
+    /**
+     * Everything the ranking of a page depends on besides the clock; the order of entities, concepts and intents as
+     * the parser returned them does not count.
+     */
+    private static String scopeOf(NewsQueryRequest request, ParsedQuery adjusted) {
+        return PageCursor.scopeOf(
+            request.query(),
+            request.userLocation(),
+            adjusted.entities().stream().sorted().toList(),
+            adjusted.concepts().stream().sorted().toList(),
+            adjusted.intents().stream().sorted().toList(),
+            adjusted.filters(),
+            adjusted.searchQuery());
+    }
+
     private ParsedQuery enrichFiltersWithRequest(ParsedQuery parsedQuery, NewsQueryRequest request) {
         ParsedQuery.Filters filters = parsedQuery.filters();
         Double scoreThreshold = filters.scoreThreshold() != null ? filters.scoreThreshold() : request.scoreThreshold();
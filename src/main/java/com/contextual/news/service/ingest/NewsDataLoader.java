@@ -3,6 +3,10 @@ package com.contextual.news.service.ingest;
 import com.contextual.news.config.AppProperties;
 import com.contextual.news.domain.model.NewsArticle;
 import com.contextual.news.domain.repository.NewsArticleRepository;
+import com.contextual.news.service.partition.ArticlePartitionManager;
+import com.contextual.news.service.retrieval.ArticleStatistics;
+import com.contextual.news.service.search.ArticleSearchIndex;
+import com.contextual.news.service.spatial.ArticleSpatialIndex;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Clock;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -20,12 +25,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 public class NewsDataLoader implements ApplicationRunner {
@@ -37,31 +45,66 @@ public class NewsDataLoader implements ApplicationRunner {
     private final ResourceLoader resourceLoader;
     private final ObjectMapper objectMapper;
     private final NewsArticleRepository repository;
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleSpatialIndex spatialIndex;
+    private final ArticleStatistics statistics;
+    private final ArticlePartitionManager partitionManager;
+    private final Clock clock;
+    private final TransactionTemplate primaryReads;
 
     public NewsDataLoader(AppProperties properties,
                           ResourceLoader resourceLoader,
                           ObjectMapper objectMapper,
-                          NewsArticleRepository repository) {
+                          NewsArticleRepository repository,
+                          ArticleSearchIndex searchIndex,
+                          ArticleSpatialIndex spatialIndex,
+                          ArticleStatistics statistics,
+                          ArticlePartitionManager partitionManager,
+                          Clock clock,
+                          PlatformTransactionManager transactionManager) {
         this.properties = properties;
         this.resourceLoader = resourceLoader;
         this.objectMapper = objectMapper;
         this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.spatialIndex = spatialIndex;
+        this.statistics = statistics;
+        this.partitionManager = partitionManager;
+        this.clock = clock;
+        this.primaryReads = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public void run(ApplicationArguments args) {
+        ingest();
+        partitionManager.maintain();
+        statistics.refresh();
+        if (!searchIndex.isEnabled() && !spatialIndex.isEnabled()) {
+            return;
+        }
+        List<NewsArticle> articles = onPrimary(repository::findAllWithCategories);
+        if (searchIndex.isEnabled()) {
+            searchIndex.rebuild(articles);
+        }
+        if (spatialIndex.isEnabled()) {
+            spatialIndex.rebuild(articles);
+        }
+    }
+
+    private void ingest() {
         boolean bootstrapEnabled = properties.data().isBootstrapEnabled();
         log.debug("NewsDataLoader bootstrapEnabled={}", bootstrapEnabled);
         if (!bootstrapEnabled) {
             log.info("Bootstrap disabled via configuration; skipping news data ingestion");
             return;
         }
-        if (repository.count() > 0) {
+        if (onPrimary(repository::count) > 0) {
             log.info("News articles already present, skipping bootstrap");
             return;
         }
         try {
             List<NewsArticleDocument> documents = readDocuments();
+            partitionManager.ensurePartitions(documents.stream().map(NewsArticleDocument::offsetDateTime).toList());
             persist(documents);
             log.info("Ingested {} news articles", documents.size());
         } catch (IOException e) {
@@ -69,6 +112,14 @@ public class NewsDataLoader implements ApplicationRunner {
         }
     }
 
+    /**
+     * Runs {@code read} in a read-write transaction, which is never routed to a read replica: a replica may not have
+     * replayed what this runner has just written.
+     */
+    private <T> T onPrimary(Supplier<T> read) {
+        return primaryReads.execute(status -> read.get());
+    }
+
     private List<NewsArticleDocument> readDocuments() throws IOException {
         String filePath = properties.data().getFilePath();
         if (filePath == null || filePath.isBlank()) {
@@ -95,6 +146,8 @@ public class NewsDataLoader implements ApplicationRunner {
     @Transactional
     protected void persist(List<NewsArticleDocument> documents) {
         List<NewsArticle> batch = new ArrayList<>(documents.size());
+        // publication_date is the partition key and cannot be null; undated articles are dated by their ingestion
+        OffsetDateTime ingestedAt = OffsetDateTime.now(clock);
         for (NewsArticleDocument document : documents) {
             Set<String> categories = document.category() != null ? new HashSet<>(document.category()) : Set.of();
             NewsArticle entity = new NewsArticle(
@@ -102,7 +155,7 @@ public class NewsDataLoader implements ApplicationRunner {
                 document.title(),
                 document.description(),
                 document.url(),
-                document.offsetDateTime(),
+                document.offsetDateTime() != null ? document.offsetDateTime() : ingestedAt,
                 document.sourceName(),
                 document.relevanceScore(),
                 document.latitude(),
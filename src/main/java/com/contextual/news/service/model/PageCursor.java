@@ -0,0 +1,106 @@
+package com.contextual.news.service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Position after the last article of a page, in final-score order ({@code finalScore} descending, then {@code id}).
+ * {@code asOf} is the instant the first page was ranked at; continuation pages rank at the same instant so recency,
+ * and with it every score, stays where the previous page left it. {@code scope} is a {@link #scopeOf digest} of what
+ * the first page was ranked for: the query is parsed again for every page, and a continuation whose parse differs
+ * would order by other scores, so it is {@link #requireScope rejected} instead of skipping or repeating articles.
+ * <p>
+ * Clients only see the {@link #encode() encoded} form and pass it back unchanged.
+ */
+public record PageCursor(OffsetDateTime asOf, double score, UUID id, String scope) {
+
+    private static final String VERSION = "2";
+
+    public static PageCursor after(OffsetDateTime asOf, ArticleScore last, String scope) {
+        return new PageCursor(asOf, last.finalScore(), last.article().getId(), scope);
+    }
+
+    /**
+     * Short digest of {@code parts}, in order, by their string form.
+     */
+    public static String scopeOf(Object... parts) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * This cursor, if it was issued for {@code expected}.
+     *
+     * @throws InvalidCursorException when the cursor belongs to a page ranked for something else
+     */
+    public PageCursor requireScope(String expected) {
+        if (!scope.equals(expected)) {
+            throw new InvalidCursorException(encode(), "Page cursor was issued for a different query");
+        }
+        return this;
+    }
+
+    /**
+     * Whether an article with this score and id belongs after the cursor, on a later page.
+     */
+    public boolean isBefore(double otherScore, UUID otherId) {
+        int byScore = Double.compare(otherScore, score);
+        return byScore < 0 || byScore == 0 && otherId.compareTo(id) > 0;
+    }
+
+    public String encode() {
+        // the score's exact bits, so the continuation cuts at exactly the same place
+        String value = String.join("|", VERSION, asOf.toInstant().toString(),
+            Long.toHexString(Double.doubleToRawLongBits(score)), id.toString(), scope);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The cursor {@link #encode()} produced, or {@code null} for a missing one.
+     *
+     * @throws InvalidCursorException when {@code value} is not a cursor this version issued
+     */
+    public static PageCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException(value);
+            }
+            return new PageCursor(
+                OffsetDateTime.ofInstant(Instant.parse(parts[1]), ZoneOffset.UTC),
+                Double.longBitsToDouble(Long.parseUnsignedLong(parts[2], 16)),
+                UUID.fromString(parts[3]),
+                parts[4]);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidCursorException(value);
+        }
+    }
+
+    public static class InvalidCursorException extends RuntimeException {
+
+        public InvalidCursorException(String cursor) {
+            this(cursor, "Invalid page cursor");
+        }
+
+        public InvalidCursorException(String cursor, String reason) {
+            super(reason + ": " + cursor);
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.contextual.news.service.model;
 
-import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.model.ArticleCandidate;
 import java.util.Objects;
 
+/**
+ * @param rank       1-based position in the retrieving strategy's own candidate list, or 0 when not known
+ * @param fetchDepth how many candidates that strategy was asked for when it retrieved this one, or 0 when not known
+ */
 public record RetrievedArticle(
-    NewsArticle article,
+    ArticleCandidate article,
     String strategy,
-    double primaryScore
+    double primaryScore,
+    int rank,
+    int fetchDepth
 ) {
     public RetrievedArticle {
         Objects.requireNonNull(article, "article must not be null");
         strategy = strategy != null ? strategy : "unknown";
     }
+
+    public RetrievedArticle(ArticleCandidate article, String strategy, double primaryScore) {
+        this(article, strategy, primaryScore, 0, 0);
+    }
+
+    public RetrievedArticle withRank(int value, int depth) {
+        return new RetrievedArticle(article, strategy, primaryScore, value, depth);
+    }
 }
@@ -0,0 +1,173 @@
+package com.contextual.news.service.partition;
+
+import com.contextual.news.config.AppProperties;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the publication-date partitions of {@code news_article} and {@code article_category} (see
+ * {@code V8__partition_articles_by_publication_date.sql}) in step with the data: the current period and the next
+ * {@code app.partitioning.premade-periods} always have a partition, and rows that landed in the default partitions
+ * are moved into partitions of their own. Both tables are always partitioned identically.
+ */
+@Component
+public class ArticlePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticlePartitionManager.class);
+
+    // every writable column; generated ones are recomputed when moved rows are inserted again
+    private static final String ARTICLE_COLUMNS = "id, title, description, url, publication_date, source_name, "
+        + "relevance_score, latitude, longitude, categories, created_at, updated_at";
+    private static final String CATEGORY_COLUMNS = "article_id, category, publication_date";
+
+    private final AppProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public ArticlePartitionManager(AppProperties properties,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   Clock clock) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return properties.partitioning().isEnabled();
+    }
+
+    @Scheduled(cron = "${app.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            SortedSet<LocalDate> periods = new TreeSet<>();
+            LocalDate current = periodStart(LocalDate.now(clock.withZone(ZoneOffset.UTC)));
+            for (int i = 0; i <= properties.partitioning().getPremadePeriods(); i++) {
+                periods.add(current);
+                current = nextPeriod(current);
+            }
+            periods.addAll(defaultPartitionPeriods());
+            periods.forEach(this::ensurePartition);
+        } catch (DataAccessException ex) {
+            log.warn("Article partition maintenance failed; rows keep landing in the default partitions", ex);
+        }
+    }
+
+    /**
+     * Creates the partitions that articles published at {@code dates} belong in, before they are written, so
+     * ingestion never has to move them out of the default partitions later.
+     */
+    public void ensurePartitions(Collection<OffsetDateTime> dates) {
+        if (!isEnabled()) {
+            return;
+        }
+        SortedSet<LocalDate> periods = new TreeSet<>();
+        dates.stream()
+            .filter(Objects::nonNull)
+            .map(date -> periodStart(date.atZoneSameInstant(ZoneOffset.UTC).toLocalDate()))
+            .forEach(periods::add);
+        try {
+            periods.forEach(this::ensurePartition);
+        } catch (DataAccessException ex) {
+            log.warn("Could not create article partitions; rows will land in the default partitions", ex);
+        }
+    }
+
+    private List<LocalDate> defaultPartitionPeriods() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc(?, publication_date, 'UTC') FROM news_article_default",
+                OffsetDateTime.class, properties.partitioning().getGranularity().name().toLowerCase(Locale.ROOT))
+            .stream()
+            .map(start -> periodStart(start.atZoneSameInstant(ZoneOffset.UTC).toLocalDate()))
+            .toList();
+    }
+
+    private void ensurePartition(LocalDate start) {
+        String suffix = "_p" + start.format(DateTimeFormatter.BASIC_ISO_DATE);
+        if (partitionExists(suffix)) {
+            return;
+        }
+        // DDL takes no bind parameters; both bounds are formatted from dates computed here
+        String from = "'" + start.atStartOfDay(ZoneOffset.UTC).toInstant() + "'";
+        String to = "'" + nextPeriod(start).atStartOfDay(ZoneOffset.UTC).toInstant() + "'";
+        String range = "publication_date >= " + from + " AND publication_date < " + to;
+        boolean created = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // the scheduled run, ingestion and other instances may race for the same period
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('article_partitions'))", Object.class);
+            if (partitionExists(suffix)) {
+                return false;
+            }
+            // a new partition may not overlap rows still held by the default partition, so those are set aside,
+            // removed (cascading to their categories) and written back through the parent once it exists
+            boolean occupied = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM news_article_default WHERE " + range + ")", Boolean.class));
+            if (occupied) {
+                jdbcTemplate.execute("CREATE TEMP TABLE partition_move_article ON COMMIT DROP AS SELECT "
+                    + ARTICLE_COLUMNS + " FROM news_article_default WHERE " + range);
+                jdbcTemplate.execute("CREATE TEMP TABLE partition_move_category ON COMMIT DROP AS SELECT "
+                    + CATEGORY_COLUMNS + " FROM article_category_default WHERE " + range);
+                jdbcTemplate.update("DELETE FROM news_article_default WHERE " + range);
+            }
+            jdbcTemplate.execute("CREATE TABLE news_article" + suffix + " PARTITION OF news_article"
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            jdbcTemplate.execute("CREATE TABLE article_category" + suffix + " PARTITION OF article_category"
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            if (occupied) {
+                int moved = jdbcTemplate.update("INSERT INTO news_article (" + ARTICLE_COLUMNS + ") SELECT "
+                    + ARTICLE_COLUMNS + " FROM partition_move_article");
+                jdbcTemplate.update("INSERT INTO article_category (" + CATEGORY_COLUMNS + ") SELECT "
+                    + CATEGORY_COLUMNS + " FROM partition_move_category");
+                log.info("Moved {} articles from the default partition into {}", moved, "news_article" + suffix);
+            }
+            return true;
+        }));
+        if (created) {
+            log.info("Created partitions news_article{} and article_category{} for [{}, {})", suffix, suffix, from, to);
+        }
+    }
+
+    private boolean partitionExists(String suffix) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+            "news_article" + suffix));
+    }
+
+    private LocalDate periodStart(LocalDate date) {
+        return switch (properties.partitioning().getGranularity()) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDate nextPeriod(LocalDate start) {
+        return switch (properties.partitioning().getGranularity()) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
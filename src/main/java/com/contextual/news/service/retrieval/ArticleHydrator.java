@@ -0,0 +1,44 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.domain.model.ArticleCandidate;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.repository.NewsArticleRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second phase of retrieval: turns the candidates that survived ranking into full entities. Candidates that already
+ * are entities with their categories loaded (from the in-memory indexes) are reused; projections, and entities whose
+ * categories are still lazy, are taken from the second-level cache or loaded in batches with their categories, so
+ * rendering the page never goes back to the database per article.
+ */
+@Component
+public class ArticleHydrator {
+
+    private final NewsArticleRepository repository;
+
+    public ArticleHydrator(NewsArticleRepository repository) {
+        this.repository = repository;
+    }
+
+    public Map<UUID, NewsArticle> hydrate(List<? extends ArticleCandidate> candidates) {
+        Map<UUID, NewsArticle> hydrated = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (ArticleCandidate candidate : candidates) {
+            if (candidate instanceof NewsArticle article && Hibernate.isInitialized(article.getCategories())) {
+                hydrated.put(article.getId(), article);
+            } else {
+                missing.add(candidate.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            repository.findAllCachedById(missing).forEach(article -> hydrated.put(article.getId(), article));
+        }
+        return hydrated;
+    }
+}
@@ -1,44 +1,313 @@
 package com.contextual.news.service.retrieval;
 
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.ScoredArticle;
+import com.contextual.news.domain.repository.NewsArticleRepository;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.ArticleRankingService;
+import com.contextual.news.service.model.ArticleScore;
 import com.contextual.news.service.model.RetrievedArticle;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class ArticleRetrievalService {
 
+    private static final Logger log = LoggerFactory.getLogger(ArticleRetrievalService.class);
+
     private final List<ArticleRetrievalStrategy> strategies;
+    private final AppProperties properties;
+    private final Executor retrievalExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final NewsArticleRepository repository;
+    private final RetrievalPlanner planner;
+    private final FetchDepthController depthController;
+    private final ArticleStatistics statistics;
+    private final ArticleRankingService rankingService;
 
-    public ArticleRetrievalService(List<ArticleRetrievalStrategy> strategies) {
+    public ArticleRetrievalService(List<ArticleRetrievalStrategy> strategies,
+                                   AppProperties properties,
+                                   @Qualifier("retrievalExecutor") Executor retrievalExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   NewsArticleRepository repository,
+                                   RetrievalPlanner planner,
+                                   FetchDepthController depthController,
+                                   ArticleStatistics statistics,
+                                   ArticleRankingService rankingService) {
         this.strategies = strategies;
+        this.properties = properties;
+        this.retrievalExecutor = retrievalExecutor;
+        this.transactionManager = transactionManager;
+        this.repository = repository;
+        this.planner = planner;
+        this.depthController = depthController;
+        this.statistics = statistics;
+        this.rankingService = rankingService;
     }
 
+    /**
+     * Retrieves within the recency window first, which lets PostgreSQL prune every older publication-date partition,
+     * and only searches the whole archive when the window cannot fill the page with articles no older one could
+     * outrank. Continuation pages apply the same rule past their cursor, so a page never skips an archived article
+     * that belonged on it.
+     */
     public List<RetrievedArticle> retrieveArticles(RetrievalContext context, int limit) {
-        Map<UUID, RetrievedArticle> aggregated = new LinkedHashMap<>();
-        int fetchMultiplier = 3;
-        for (ArticleRetrievalStrategy strategy : strategies) {
-            if (!strategy.supports(context)) {
-                continue;
+        Optional<ArticleStatistics.RecencyWindow> window = recencyWindow(context);
+        if (window.isPresent()) {
+            ParsedQuery.Filters filters = context.parsedQuery().filters().withDateFrom(window.get().start());
+            List<RetrievedArticle> retrieved = retrieve(
+                context.withParsedQuery(context.parsedQuery().withFilters(filters)), limit);
+            if (rankingService.outranksOlder(retrieved, context, window.get(), limit)) {
+                return retrieved;
             }
-            List<RetrievedArticle> retrieved = strategy.retrieve(context, limit * fetchMultiplier);
-            for (RetrievedArticle candidate : retrieved) {
-                aggregated.putIfAbsent(candidate.article().getId(), candidate);
+        }
+        return retrieve(context, limit);
+    }
+
+    /**
+     * The recency window {@code context} is retrieved within first, measured back from the newest stored article.
+     * Empty when the window is disabled, the query already bounds its dates, or nothing has been ingested yet.
+     */
+    private Optional<ArticleStatistics.RecencyWindow> recencyWindow(RetrievalContext context) {
+        Duration window = properties.retrieval().getRecencyWindow();
+        ParsedQuery.Filters filters = context.parsedQuery().filters();
+        if (window.isZero() || window.isNegative() || filters.dateFrom() != null || filters.dateTo() != null) {
+            return Optional.empty();
+        }
+        return statistics.recencyWindow();
+    }
+
+    private List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+        Map<UUID, RetrievedArticle> aggregated = new LinkedHashMap<>();
+        AppProperties.RetrievalProperties retrieval = properties.retrieval();
+        int fetchLimit = limit * retrieval.getFetchMultiplier();
+        List<ArticleRetrievalStrategy> supported = strategies.stream()
+            .filter(strategy -> strategy.supports(context))
+            .toList();
+        Map<ArticleRetrievalStrategy, Integer> depths = new HashMap<>();
+        for (ArticleRetrievalStrategy strategy : supported) {
+            depths.put(strategy, depthController.isEnabled()
+                ? depthController.fetchDepth(strategy.strategyName(), context, limit)
+                : fetchLimit);
+        }
+        // branches ordered by the ranking formula already return what the final ranking keeps, so they need no slack;
+        // continuation pages keep it, as the rows at the cursor itself come back and are only dropped in memory
+        ToIntFunction<ArticleRetrievalStrategy> branchDepth =
+            retrieval.getOrdering() == AppProperties.RetrievalProperties.Ordering.RANKING && context.after() == null
+                && !depthController.isEnabled()
+                ? strategy -> limit * retrieval.getRankedFetchMultiplier()
+                : depths::get;
+        RetrievalPlan plan = planner.plan(supported, context, branchDepth);
+        Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results = execute(plan, context, depths, branchDepth);
+        if (context.after() != null) {
+            deepenPastCursor(supported, plan.standalone(), context, limit, depths, results);
+        }
+        // merge in strategy order whatever order the plan ran in, so the first strategy to claim an article tags it
+        for (ArticleRetrievalStrategy strategy : supported) {
+            List<RetrievedArticle> candidates = results.getOrDefault(strategy, List.of());
+            int used = plan.standalone().contains(strategy) ? depths.get(strategy) : branchDepth.applyAsInt(strategy);
+            for (int i = 0; i < candidates.size(); i++) {
+                RetrievedArticle candidate = candidates.get(i);
+                aggregated.putIfAbsent(candidate.article().getId(), candidate.withRank(i + 1, used));
             }
         }
         if (aggregated.isEmpty()) {
             strategies.stream()
                 .filter(strategy -> "search".equals(strategy.strategyName()))
                 .findFirst()
-                .ifPresent(strategy -> strategy.retrieve(context, limit * fetchMultiplier).forEach(candidate ->
+                .ifPresent(strategy -> strategy.retrieve(context, fetchLimit).forEach(candidate ->
                     aggregated.putIfAbsent(candidate.article().getId(), candidate)));
         }
+        int cap = Math.max(fetchLimit, depths.values().stream().mapToInt(Integer::intValue).max().orElse(0));
         return new ArrayList<>(aggregated.values()).stream()
-            .limit(limit * fetchMultiplier)
+            .limit(cap)
             .collect(Collectors.toList());
     }
+
+    /**
+     * Standalone strategies (the in-memory indexes and the {@code like} search) have no keyset bound, so on a
+     * continuation page they return the same head of their list as on the first one, most of which ranks before the
+     * cursor. While fewer than a page of candidates rank after it, every standalone strategy that filled its depth is
+     * asked again at twice the depth; one that returned less has nothing further to give.
+     */
+    private void deepenPastCursor(List<ArticleRetrievalStrategy> supported, List<ArticleRetrievalStrategy> standalone,
+                                  RetrievalContext context, int limit, Map<ArticleRetrievalStrategy, Integer> depths,
+                                  Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results) {
+        List<ArticleRetrievalStrategy> truncated = filled(standalone, depths, results);
+        while (!truncated.isEmpty() && rankingService.countAfterCursor(merge(supported, results), context) < limit) {
+            for (ArticleRetrievalStrategy strategy : truncated) {
+                int deeper = depths.get(strategy) * 2;
+                depths.put(strategy, deeper);
+                results.put(strategy, strategy.retrieve(context, deeper));
+            }
+            truncated = filled(truncated, depths, results);
+        }
+    }
+
+    private static List<ArticleRetrievalStrategy> filled(List<ArticleRetrievalStrategy> strategies,
+                                                         Map<ArticleRetrievalStrategy, Integer> depths,
+                                                         Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results) {
+        return strategies.stream()
+            .filter(strategy -> results.getOrDefault(strategy, List.of()).size() >= depths.get(strategy))
+            .toList();
+    }
+
+    private static List<RetrievedArticle> merge(List<ArticleRetrievalStrategy> supported,
+                                                Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results) {
+        Map<UUID, RetrievedArticle> merged = new LinkedHashMap<>();
+        supported.forEach(strategy -> results.getOrDefault(strategy, List.of()).forEach(candidate ->
+            merged.putIfAbsent(candidate.article().getId(), candidate)));
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Feeds the final page back to the {@link FetchDepthController}: for every strategy that returned candidates,
+     * how deep into its own list the page reached, against the depth that list was fetched at. The controller may
+     * have moved since, through concurrent queries, so the depth comes from the candidates rather than from it.
+     */
+    public void recordOutcome(RetrievalContext context, int limit, List<RetrievedArticle> retrieved,
+                              List<ArticleScore> page) {
+        if (!depthController.isEnabled()) {
+            return;
+        }
+        Set<UUID> selected = page.stream().map(score -> score.article().getId()).collect(Collectors.toSet());
+        Map<String, Integer> deepest = new HashMap<>();
+        Map<String, Integer> fetched = new HashMap<>();
+        for (RetrievedArticle candidate : retrieved) {
+            if (candidate.rank() == 0 || candidate.fetchDepth() == 0) {
+                continue;
+            }
+            int depth = selected.contains(candidate.article().getId()) ? candidate.rank() : 0;
+            deepest.merge(candidate.strategy(), depth, Math::max);
+            fetched.merge(candidate.strategy(), candidate.fetchDepth(), Math::max);
+        }
+        deepest.forEach((strategy, depth) -> depthController.record(strategy, context, limit,
+            fetched.get(strategy), depth));
+    }
+
+    /**
+     * Runs each distinct planned query once, in the configured mode, and hands its rows to every member strategy,
+     * each cut to that member's own depth.
+     */
+    private Map<ArticleRetrievalStrategy, List<RetrievedArticle>> execute(RetrievalPlan plan,
+                                                                          RetrievalContext context,
+                                                                          Map<ArticleRetrievalStrategy, Integer> depths,
+                                                                          ToIntFunction<ArticleRetrievalStrategy> branchDepth) {
+        AppProperties.RetrievalProperties.ExecutionMode mode = properties.retrieval().getMode();
+        int tasks = plan.queries().size() + plan.standalone().size();
+        Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results = new HashMap<>();
+        Map<RetrievalPlan.PlannedQuery, List<ScoredArticle>> rows;
+        if (mode == AppProperties.RetrievalProperties.ExecutionMode.COMBINED && plan.queries().size() > 1) {
+            rows = queryCombined(plan.queries());
+            plan.standalone().forEach(strategy -> results.put(strategy, strategy.retrieve(context, depths.get(strategy))));
+        } else if (mode == AppProperties.RetrievalProperties.ExecutionMode.CONCURRENT && tasks > 1) {
+            rows = runConcurrently(plan, context, depths, results);
+        } else {
+            rows = new HashMap<>();
+            plan.queries().forEach(query -> rows.put(query, query(query.branch())));
+            plan.standalone().forEach(strategy -> results.put(strategy, strategy.retrieve(context, depths.get(strategy))));
+        }
+        rows.forEach((query, candidates) -> query.members().forEach(member -> {
+            int depth = branchDepth.applyAsInt(member);
+            List<ScoredArticle> own = candidates.subList(0, Math.min(depth, candidates.size()));
+            results.put(member, member.fromCandidates(context, own, depth));
+        }));
+        return results;
+    }
+
+    private List<ScoredArticle> query(CandidateBranch branch) {
+        return repository.findCandidates(List.of(branch)).getOrDefault(branch.strategy(), List.of());
+    }
+
+    /**
+     * Compiles every planned query into one {@code UNION ALL} statement, so the candidate pool costs a single round
+     * trip.
+     */
+    private Map<RetrievalPlan.PlannedQuery, List<ScoredArticle>> queryCombined(List<RetrievalPlan.PlannedQuery> queries) {
+        Map<String, List<ScoredArticle>> tagged = repository.findCandidates(
+            queries.stream().map(RetrievalPlan.PlannedQuery::branch).toList());
+        Map<RetrievalPlan.PlannedQuery, List<ScoredArticle>> rows = new HashMap<>();
+        queries.forEach(query -> rows.put(query, tagged.getOrDefault(query.branch().strategy(), List.of())));
+        return rows;
+    }
+
+    /**
+     * Runs every planned query and standalone strategy on the retrieval executor. A task that fails, misses its
+     * deadline or is rejected by a saturated executor contributes nothing.
+     */
+    private Map<RetrievalPlan.PlannedQuery, List<ScoredArticle>> runConcurrently(
+        RetrievalPlan plan,
+        RetrievalContext context,
+        Map<ArticleRetrievalStrategy, Integer> depths,
+        Map<ArticleRetrievalStrategy, List<RetrievedArticle>> results
+    ) {
+        Map<RetrievalPlan.PlannedQuery, CompletableFuture<List<ScoredArticle>>> queries = new LinkedHashMap<>();
+        for (RetrievalPlan.PlannedQuery query : plan.queries()) {
+            queries.put(query, submit(query.branch().strategy(),
+                timeout -> inTransaction(timeout, () -> query(query.branch()))));
+        }
+        Map<ArticleRetrievalStrategy, CompletableFuture<List<RetrievedArticle>>> standalone = new LinkedHashMap<>();
+        for (ArticleRetrievalStrategy strategy : plan.standalone()) {
+            standalone.put(strategy, submit(strategy.strategyName(),
+                timeout -> retrieveInOwnTransaction(strategy, context, depths.get(strategy), timeout)));
+        }
+        standalone.forEach((strategy, future) -> results.put(strategy, future.join()));
+        Map<RetrievalPlan.PlannedQuery, List<ScoredArticle>> rows = new HashMap<>();
+        queries.forEach((query, future) -> rows.put(query, future.join()));
+        return rows;
+    }
+
+    private <T> CompletableFuture<List<T>> submit(String name, Function<Duration, List<T>> task) {
+        Duration timeout = properties.retrieval().timeoutFor(name);
+        CompletableFuture<List<T>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> task.apply(timeout), retrievalExecutor);
+        } catch (RejectedExecutionException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return future
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(ex -> {
+                log.warn("Retrieval strategy {} failed, was rejected or exceeded {}; continuing without it", name,
+                    timeout, ex);
+                return List.of();
+            });
+    }
+
+    private List<RetrievedArticle> retrieveInOwnTransaction(ArticleRetrievalStrategy strategy,
+                                                            RetrievalContext context,
+                                                            int fetchLimit,
+                                                            Duration timeout) {
+        // entities come back detached with lazy categories; the hydrator reloads the ones that make the page
+        return inTransaction(timeout, () -> strategy.retrieve(context, fetchLimit));
+    }
+
+    private <T> T inTransaction(Duration timeout, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        return transactionTemplate.execute(status -> work.get());
+    }
 }
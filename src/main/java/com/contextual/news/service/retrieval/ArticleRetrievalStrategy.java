@@ -1,7 +1,11 @@
 package com.contextual.news.service.retrieval;
 
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.ScoredArticle;
 import com.contextual.news.service.model.RetrievedArticle;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ArticleRetrievalStrategy {
 
@@ -10,4 +14,21 @@ public interface ArticleRetrievalStrategy {
     List<RetrievedArticle> retrieve(RetrievalContext context, int limit);
 
     String strategyName();
+
+    /**
+     * This strategy's query as a branch of the combined candidate statement, or empty when it has to run through
+     * {@link #retrieve(RetrievalContext, int)} on its own (for example when it is served from memory).
+     */
+    default Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+        return Optional.empty();
+    }
+
+    /**
+     * Converts the rows the combined statement returned for {@link #candidateBranch(RetrievalContext, int)}.
+     */
+    default List<RetrievedArticle> fromCandidates(RetrievalContext context, List<ScoredArticle> candidates, int limit) {
+        return candidates.stream()
+            .map(candidate -> new RetrievedArticle(candidate.article(), strategyName(), candidate.score()))
+            .collect(Collectors.toList());
+    }
 }
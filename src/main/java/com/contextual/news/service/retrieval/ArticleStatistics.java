@@ -0,0 +1,119 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.repository.NewsArticleRepository;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-category and per-source article counts and the recency window, refreshed after ingestion. Used by
+ * {@link RetrievalPlanner} as cardinality estimates and by {@link ArticleRetrievalService} to anchor the recency
+ * window and bound what the articles older than it could score; until the first refresh every estimate is unknown.
+ */
+@Component
+public class ArticleStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleStatistics.class);
+
+    private final NewsArticleRepository repository;
+    private final AppProperties properties;
+    private volatile Snapshot snapshot;
+
+    public ArticleStatistics(NewsArticleRepository repository, AppProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    // read-write so it is served by the primary; a read replica may not have replayed the ingestion yet
+    @Transactional
+    public void refresh() {
+        Snapshot refreshed = new Snapshot(repository.count(), counts(repository.countByCategory()),
+            counts(repository.countBySource()), recencyWindow(repository.findLatestPublicationDate()));
+        this.snapshot = refreshed;
+        log.info("Refreshed article statistics: {} articles, {} categories, {} sources, {} tokens before the window",
+            refreshed.total, refreshed.categories.size(), refreshed.sources.size(),
+            refreshed.recencyWindow != null ? refreshed.recencyWindow.tokens().size() : 0);
+    }
+
+    /**
+     * Upper bound on the rows matching {@code filter}: the smallest of the total, category and source counts.
+     */
+    public OptionalLong estimate(ArticleFilter filter) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return OptionalLong.empty();
+        }
+        long estimate = current.total;
+        if (filter != null && filter.category() != null) {
+            estimate = Math.min(estimate, current.categories.getOrDefault(normalize(filter.category()), 0L));
+        }
+        if (filter != null && filter.source() != null) {
+            estimate = Math.min(estimate, current.sources.getOrDefault(normalize(filter.source()), 0L));
+        }
+        return OptionalLong.of(estimate);
+    }
+
+    /**
+     * The {@code app.retrieval.recency-window} measured back from the newest stored article, which for a live feed is
+     * close to the present, with a summary of the articles published before it. Empty when the window is disabled or
+     * nothing has been ingested yet.
+     */
+    public Optional<RecencyWindow> recencyWindow() {
+        Snapshot current = snapshot;
+        return current != null ? Optional.ofNullable(current.recencyWindow) : Optional.empty();
+    }
+
+    private RecencyWindow recencyWindow(OffsetDateTime latestPublication) {
+        Duration window = properties.retrieval().getRecencyWindow();
+        if (latestPublication == null || window.isZero() || window.isNegative()) {
+            return null;
+        }
+        OffsetDateTime start = latestPublication.minus(window);
+        List<Object[]> rows = repository.summarizeTokensPublishedBefore(start);
+        Map<String, TokenSummary> tokens = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            tokens.put((String) row[0], new TokenSummary(((Number) row[1]).intValue(), ((Number) row[2]).doubleValue()));
+        }
+        return new RecencyWindow(start, repository.findMaxRelevancePublishedBefore(start), tokens);
+    }
+
+    private static Map<String, Long> counts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Where the recency window starts and, for the articles published before it, the best stored relevance score and
+     * a {@link TokenSummary} per ranking token of their digests.
+     */
+    public record RecencyWindow(OffsetDateTime start, double maxRelevanceBefore, Map<String, TokenSummary> tokens) {
+    }
+
+    /**
+     * The smallest token digest and the best stored relevance score among the older articles containing a token.
+     */
+    public record TokenSummary(int minDigestSize, double maxRelevance) {
+    }
+
+    private record Snapshot(long total, Map<String, Long> categories, Map<String, Long> sources,
+                            RecencyWindow recencyWindow) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.llm.model.QueryIntent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * Learns how many candidates each strategy needs to fetch, per strategy and intent combination. After every query
+ * the deepest position any of a strategy's candidates reached in the final page is fed back: a strategy whose
+ * deepest contribution hit the end of what it fetched may be cut short, so its depth doubles; otherwise the depth
+ * moves toward the observed one plus headroom. Depths are multiples of the page size, kept within the configured
+ * bounds and published as the {@code news.retrieval.fetch.multiplier} gauge.
+ */
+@Component
+public class FetchDepthController {
+
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Depth> depths = new ConcurrentHashMap<>();
+
+    public FetchDepthController(AppProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.retrieval().isAdaptiveFetch();
+    }
+
+    public int fetchDepth(String strategy, RetrievalContext context, int limit) {
+        return depthOf(key(strategy, context)).rows(limit);
+    }
+
+    /**
+     * @param deepest 1-based position, in {@code strategy}'s own candidate list, of its deepest candidate that made
+     *                the final page; 0 when none did
+     */
+    public void record(String strategy, RetrievalContext context, int limit, int fetched, int deepest) {
+        if (limit <= 0) {
+            return;
+        }
+        Key key = key(strategy, context);
+        AppProperties.RetrievalProperties retrieval = properties.retrieval();
+        depthOf(key).update(limit, fetched, deepest, retrieval);
+        DistributionSummary.builder("news.retrieval.fetch.used")
+            .description("Deepest contributing candidate as a multiple of the page size")
+            .tag("strategy", key.strategy())
+            .tag("intents", key.intents())
+            .register(meterRegistry)
+            .record((double) deepest / limit);
+    }
+
+    private Depth depthOf(Key key) {
+        return depths.computeIfAbsent(key, ignored -> {
+            Depth depth = new Depth(properties.retrieval().getFetchMultiplier());
+            Gauge.builder("news.retrieval.fetch.multiplier", depth, Depth::multiplier)
+                .description("Learned candidate fetch depth as a multiple of the page size")
+                .tag("strategy", key.strategy())
+                .tag("intents", key.intents())
+                .register(meterRegistry);
+            return depth;
+        });
+    }
+
+    private static Key key(String strategy, RetrievalContext context) {
+        String intents = context.parsedQuery().intents().stream()
+            .filter(Objects::nonNull)
+            .map(QueryIntent::name)
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .sorted()
+            .distinct()
+            .collect(Collectors.joining("+"));
+        return new Key(strategy, intents.isEmpty() ? "none" : intents);
+    }
+
+    private record Key(String strategy, String intents) {
+    }
+
+    private static final class Depth {
+
+        private double multiplier;
+
+        private Depth(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        synchronized double multiplier() {
+            return multiplier;
+        }
+
+        synchronized int rows(int limit) {
+            return Math.max(1, (int) Math.ceil(limit * multiplier));
+        }
+
+        synchronized void update(int limit, int fetched, int deepest, AppProperties.RetrievalProperties retrieval) {
+            double next;
+            if (deepest >= fetched) {
+                // the page reached the last fetched row, so rows beyond it might have made the cut too
+                next = multiplier * 2;
+            } else {
+                double target = (double) deepest / limit * retrieval.getFetchDepthHeadroom();
+                next = multiplier + retrieval.getFetchDepthSmoothing() * (target - multiplier);
+            }
+            multiplier = Math.min(retrieval.getMaxFetchMultiplier(), Math.max(retrieval.getMinFetchMultiplier(), next));
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.contextual.news.service.retrieval;
 
-import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.NearbyArticle;
+import com.contextual.news.domain.query.ScoredArticle;
 import com.contextual.news.domain.repository.NewsArticleRepository;
 import com.contextual.news.llm.model.QueryIntent;
 import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.spatial.ArticleSpatialIndex;
 import com.contextual.news.service.util.GeoUtils;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,9 +22,15 @@ import org.springframework.stereotype.Component;
 public class NearbyRetrievalStrategy implements ArticleRetrievalStrategy {
 
     private final NewsArticleRepository repository;
+    private final ArticleSpatialIndex spatialIndex;
+    private final AppProperties properties;
 
-    public NearbyRetrievalStrategy(NewsArticleRepository repository) {
+    public NearbyRetrievalStrategy(NewsArticleRepository repository,
+                                   ArticleSpatialIndex spatialIndex,
+                                   AppProperties properties) {
         this.repository = repository;
+        this.spatialIndex = spatialIndex;
+        this.properties = properties;
     }
 
     @Override
@@ -37,17 +48,64 @@ public class NearbyRetrievalStrategy implements ArticleRetrievalStrategy {
             return Collections.emptyList();
         }
         double radiusKm = RetrievalSupport.resolveRadius(context);
-        Specification<NewsArticle> spec = RetrievalSupport.applyNearbyBoundingBox(context,
-            RetrievalSupport.baseSpecification(context.parsedQuery()));
-        return repository.findAll(spec, RetrievalSupport.pageable(limit)).stream()
-            .map(article -> {
-                double distance = GeoUtils.distanceKm(userLat, userLon, article.getLatitude(), article.getLongitude());
-                double proximityScore = Math.max(0.0, 1.0 - Math.min(distance / radiusKm, 1.0));
-                return new RetrievedArticle(article, strategyName(), proximityScore);
+        // both nearest-first paths apply the exact radius themselves, so the bounding box is not needed
+        if (spatialIndex.isEnabled() && spatialIndex.isReady()) {
+            ArticleFilter filter = RetrievalSupport.baseFilter(context).withBoundingBox(null);
+            return toRetrieved(spatialIndex.nearest(userLat, userLon, radiusKm, filter, limit), radiusKm);
+        }
+        if (usesKnn()) {
+            ArticleFilter filter = RetrievalSupport.baseFilter(context).withBoundingBox(null);
+            return toRetrieved(repository.findNearest(filter, userLat, userLon, radiusKm, limit), radiusKm);
+        }
+        return fromCandidates(context, repository.findByRelevance(RetrievalSupport.baseFilter(context), limit), limit);
+    }
+
+    @Override
+    public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+        Double userLat = RetrievalSupport.resolveLatitude(context);
+        Double userLon = RetrievalSupport.resolveLongitude(context);
+        if (userLat == null || userLon == null || (spatialIndex.isEnabled() && spatialIndex.isReady())) {
+            return Optional.empty();
+        }
+        ArticleFilter filter = RetrievalSupport.baseFilter(context);
+        if (usesKnn()) {
+            return Optional.of(CandidateBranch.nearest(strategyName(), filter.withBoundingBox(null), userLat, userLon,
+                RetrievalSupport.resolveRadius(context), limit));
+        }
+        return Optional.of(CandidateBranch.byRelevance(strategyName(), filter, limit));
+    }
+
+    @Override
+    public List<RetrievedArticle> fromCandidates(RetrievalContext context, List<ScoredArticle> candidates, int limit) {
+        double userLat = RetrievalSupport.resolveLatitude(context);
+        double userLon = RetrievalSupport.resolveLongitude(context);
+        double radiusKm = RetrievalSupport.resolveRadius(context);
+        boolean knn = usesKnn();
+        return candidates.stream()
+            .map(candidate -> {
+                // nearest-first rows already carry their distance as the score
+                double distance = knn ? candidate.score() : GeoUtils.distanceKm(userLat, userLon,
+                    candidate.article().getLatitude(), candidate.article().getLongitude());
+                return new RetrievedArticle(candidate.article(), strategyName(), proximityScore(distance, radiusKm));
             })
             .collect(Collectors.toList());
     }
 
+    private boolean usesKnn() {
+        return properties.nearby().getEngine() == AppProperties.NearbyProperties.Engine.KNN;
+    }
+
+    private List<RetrievedArticle> toRetrieved(List<NearbyArticle> nearby, double radiusKm) {
+        return nearby.stream()
+            .map(candidate -> new RetrievedArticle(candidate.article(), strategyName(),
+                proximityScore(candidate.distanceKm(), radiusKm)))
+            .collect(Collectors.toList());
+    }
+
+    private static double proximityScore(double distanceKm, double radiusKm) {
+        return Math.max(0.0, 1.0 - Math.min(distanceKm / radiusKm, 1.0));
+    }
+
     @Override
     public String strategyName() {
         return "nearby";
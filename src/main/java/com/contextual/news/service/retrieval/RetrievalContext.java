@@ -2,9 +2,25 @@ package com.contextual.news.service.retrieval;
 
 import com.contextual.news.api.dto.NewsQueryRequest;
 import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.model.PageCursor;
+import java.time.OffsetDateTime;
 
+/**
+ * @param asOf  the instant recency is measured from; {@code null} for the current time
+ * @param after the previous page's cursor, {@code null} for a first page
+ */
 public record RetrievalContext(
     NewsQueryRequest request,
-    ParsedQuery parsedQuery
+    ParsedQuery parsedQuery,
+    OffsetDateTime asOf,
+    PageCursor after
 ) {
+
+    public RetrievalContext(NewsQueryRequest request, ParsedQuery parsedQuery) {
+        this(request, parsedQuery, null, null);
+    }
+
+    public RetrievalContext withParsedQuery(ParsedQuery value) {
+        return new RetrievalContext(request, value, asOf, after);
+    }
 }
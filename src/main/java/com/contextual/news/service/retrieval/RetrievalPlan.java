@@ -0,0 +1,25 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.domain.query.CandidateBranch;
+import java.util.List;
+
+/**
+ * Output of {@link RetrievalPlanner}: the distinct candidate queries to run, cheapest first, the strategies that run
+ * on their own, and the strategies whose query is known to return nothing.
+ */
+public record RetrievalPlan(
+    List<PlannedQuery> queries,
+    List<ArticleRetrievalStrategy> standalone,
+    List<ArticleRetrievalStrategy> skipped
+) {
+
+    /**
+     * One query shared by every strategy in {@code members}; the branch is tagged with the first member's name.
+     */
+    public record PlannedQuery(
+        CandidateBranch branch,
+        List<ArticleRetrievalStrategy> members,
+        long estimatedRows
+    ) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.RankingOrder;
+import com.contextual.news.service.ArticleRankingService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.ToIntFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sits between the retrieval context and the strategies. Strategies whose candidate branches differ only in name
+ * and limit share one query (run with the largest limit, every member converting the same rows), branches the
+ * statistics say are empty are skipped, and the remaining queries are ordered by estimated cardinality. With
+ * {@code RANKING} ordering each branch also carries the ranking formula, so the database returns the candidates the
+ * final ranking would keep rather than the most relevant ones. Continuation pages always do, bounded to the scores
+ * below the previous page's cursor.
+ */
+@Component
+public class RetrievalPlanner {
+
+    private final ArticleStatistics statistics;
+    private final AppProperties properties;
+    private final ArticleRankingService rankingService;
+
+    public RetrievalPlanner(ArticleStatistics statistics, AppProperties properties,
+                            ArticleRankingService rankingService) {
+        this.statistics = statistics;
+        this.properties = properties;
+        this.rankingService = rankingService;
+    }
+
+    public RetrievalPlan plan(List<ArticleRetrievalStrategy> supported, RetrievalContext context,
+                             ToIntFunction<ArticleRetrievalStrategy> fetchLimit) {
+        Map<CandidateBranch, List<ArticleRetrievalStrategy>> members = new LinkedHashMap<>();
+        Map<CandidateBranch, CandidateBranch> merged = new LinkedHashMap<>();
+        List<ArticleRetrievalStrategy> standalone = new ArrayList<>();
+        List<ArticleRetrievalStrategy> skipped = new ArrayList<>();
+        RankingOrder ranking = ordersByRanking(context) ? rankingService.rankingOrder(context) : null;
+        for (ArticleRetrievalStrategy strategy : supported) {
+            Optional<CandidateBranch> candidate = strategy.candidateBranch(context, fetchLimit.applyAsInt(strategy));
+            if (candidate.isEmpty()) {
+                standalone.add(strategy);
+                continue;
+            }
+            CandidateBranch branch = candidate.get();
+            if (ranking != null) {
+                branch = branch.withRanking(ranking);
+            }
+            if (statistics.estimate(branch.filter()).orElse(Long.MAX_VALUE) == 0) {
+                skipped.add(strategy);
+                continue;
+            }
+            CandidateBranch key = branch.queryKey();
+            members.computeIfAbsent(key, ignored -> new ArrayList<>()).add(strategy);
+            merged.merge(key, branch, (first, next) -> first.withLimit(Math.max(first.limit(), next.limit())));
+        }
+
+        List<RetrievalPlan.PlannedQuery> queries = new ArrayList<>(merged.size());
+        merged.forEach((key, branch) -> {
+            OptionalLong estimate = statistics.estimate(branch.filter());
+            queries.add(new RetrievalPlan.PlannedQuery(branch, List.copyOf(members.get(key)),
+                estimate.orElse(Long.MAX_VALUE)));
+        });
+        queries.sort(Comparator.comparingLong(RetrievalPlan.PlannedQuery::estimatedRows));
+        return new RetrievalPlan(List.copyOf(queries), List.copyOf(standalone), List.copyOf(skipped));
+    }
+
+    /**
+     * With {@code RANKING} ordering, and for every continuation page, whose keyset bound is on the ranking formula.
+     */
+    private boolean ordersByRanking(RetrievalContext context) {
+        return properties.retrieval().getOrdering() == AppProperties.RetrievalProperties.Ordering.RANKING
+            || context.after() != null;
+    }
+}
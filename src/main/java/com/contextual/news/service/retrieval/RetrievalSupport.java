@@ -1,15 +1,10 @@
 package com.contextual.news.service.retrieval;
 
 import com.contextual.news.api.dto.NewsQueryRequest;
-import com.contextual.news.domain.model.NewsArticle;
-import com.contextual.news.domain.specification.ArticleSpecifications;
+import com.contextual.news.domain.query.ArticleFilter;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.llm.model.QueryIntent;
 import java.util.Optional;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 
 public final class RetrievalSupport {
 
@@ -18,38 +13,27 @@ public final class RetrievalSupport {
     private RetrievalSupport() {
     }
 
-    public static Specification<NewsArticle> baseSpecification(ParsedQuery parsedQuery) {
-        Specification<NewsArticle> spec = Specification.where(null);
-        var filters = parsedQuery.filters();
-
-        if (filters.category() != null && !filters.category().isBlank()) {
-            spec = spec.and(ArticleSpecifications.hasCategory(filters.category()));
-        }
-        if (filters.source() != null && !filters.source().isBlank()) {
-            spec = spec.and(ArticleSpecifications.hasSource(filters.source()));
-        }
-        if (filters.scoreThreshold() != null) {
-            spec = spec.and(ArticleSpecifications.hasMinimumScore(filters.scoreThreshold()));
-        }
-        if (filters.dateFrom() != null) {
-            spec = spec.and(ArticleSpecifications.publishedAfter(filters.dateFrom()));
-        }
-        if (filters.dateTo() != null) {
-            spec = spec.and(ArticleSpecifications.publishedBefore(filters.dateTo()));
-        }
-        return spec;
-    }
-
-    public static Pageable pageable(int limit) {
-        Sort sort = Sort.by(Sort.Order.desc("relevanceScore"), Sort.Order.desc("publicationDate"));
-        return PageRequest.of(0, limit, sort);
+    /**
+     * The parsed filters as candidate query predicates, plus the bounding box of the nearby radius when the context
+     * has an origin.
+     */
+    public static ArticleFilter baseFilter(RetrievalContext context) {
+        var filters = context.parsedQuery().filters();
+        return new ArticleFilter(
+            blankToNull(filters.category()),
+            blankToNull(filters.source()),
+            filters.scoreThreshold(),
+            filters.dateFrom(),
+            filters.dateTo(),
+            nearbyBoundingBox(context)
+        );
     }
 
-    public static Specification<NewsArticle> applyNearbyBoundingBox(RetrievalContext context, Specification<NewsArticle> spec) {
+    public static ArticleFilter.BoundingBox nearbyBoundingBox(RetrievalContext context) {
         Double lat = resolveLatitude(context);
         Double lon = resolveLongitude(context);
         if (lat == null || lon == null) {
-            return spec;
+            return null;
         }
 
         double radiusKm = resolveRadius(context);
@@ -62,7 +46,7 @@ public final class RetrievalSupport {
         double minLon = Math.max(-180.0, lon - lonDelta);
         double maxLon = Math.min(180.0, lon + lonDelta);
 
-        return spec.and(ArticleSpecifications.withinBoundingBox(minLat, maxLat, minLon, maxLon));
+        return new ArticleFilter.BoundingBox(minLat, maxLat, minLon, maxLon);
     }
 
     public static boolean requiresNearbyIntent(ParsedQuery parsedQuery) {
@@ -89,10 +73,7 @@ public final class RetrievalSupport {
         return Optional.ofNullable(parsedQuery.filters().radiusKm()).orElseGet(request::resolvedRadiusKm);
     }
 
-    public static Specification<NewsArticle> applySearchTerm(Specification<NewsArticle> spec, String searchQuery) {
-        if (searchQuery == null || searchQuery.isBlank()) {
-            return spec;
-        }
-        return spec.and(ArticleSpecifications.matchesSearchTerm(searchQuery));
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value : null;
     }
 }
@@ -1,15 +1,14 @@
 package com.contextual.news.service.retrieval;
 
-import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.CandidateBranch;
 import com.contextual.news.domain.repository.NewsArticleRepository;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.llm.model.QueryIntent;
 import com.contextual.news.service.model.RetrievedArticle;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -30,16 +29,19 @@ public class ScoreRetrievalStrategy implements ArticleRetrievalStrategy {
 
     @Override
     public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
-        ParsedQuery parsed = context.parsedQuery();
-        Double threshold = parsed.filters().scoreThreshold();
+        Double threshold = context.parsedQuery().filters().scoreThreshold();
         if (threshold == null) {
             return Collections.emptyList();
         }
-        Specification<NewsArticle> spec = RetrievalSupport.baseSpecification(parsed);
-        spec = RetrievalSupport.applyNearbyBoundingBox(context, spec);
-        return repository.findAll(spec, RetrievalSupport.pageable(limit)).stream()
-            .map(article -> new RetrievedArticle(article, strategyName(), article.getRelevanceScore() != null ? article.getRelevanceScore() : 0.0))
-            .collect(Collectors.toList());
+        return fromCandidates(context, repository.findByRelevance(RetrievalSupport.baseFilter(context), limit), limit);
+    }
+
+    @Override
+    public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+        if (context.parsedQuery().filters().scoreThreshold() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(CandidateBranch.byRelevance(strategyName(), RetrievalSupport.baseFilter(context), limit));
     }
 
     @Override
@@ -1,16 +1,19 @@
 package com.contextual.news.service.retrieval;
 
-import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.ScoredArticle;
 import com.contextual.news.domain.repository.NewsArticleRepository;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.llm.model.QueryIntent;
 import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.search.ArticleSearchIndex;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -18,9 +21,15 @@ import org.springframework.stereotype.Component;
 public class SearchRetrievalStrategy implements ArticleRetrievalStrategy {
 
     private final NewsArticleRepository repository;
+    private final AppProperties properties;
+    private final ArticleSearchIndex searchIndex;
 
-    public SearchRetrievalStrategy(NewsArticleRepository repository) {
+    public SearchRetrievalStrategy(NewsArticleRepository repository,
+                                   AppProperties properties,
+                                   ArticleSearchIndex searchIndex) {
         this.repository = repository;
+        this.properties = properties;
+        this.searchIndex = searchIndex;
     }
 
     @Override
@@ -31,18 +40,70 @@ public class SearchRetrievalStrategy implements ArticleRetrievalStrategy {
 
     @Override
     public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
-        ParsedQuery parsed = context.parsedQuery();
-        String searchQuery = Optional.ofNullable(parsed.searchQuery())
-            .filter(q -> !q.isBlank())
-            .orElseGet(() -> context.request().query());
+        String searchQuery = resolveSearchQuery(context);
         if (searchQuery == null || searchQuery.isBlank()) {
             return Collections.emptyList();
         }
-        Specification<NewsArticle> spec = RetrievalSupport.baseSpecification(parsed);
-        spec = RetrievalSupport.applyNearbyBoundingBox(context, spec);
-        spec = RetrievalSupport.applySearchTerm(spec, searchQuery);
-        return repository.findAll(spec, RetrievalSupport.pageable(limit)).stream()
-            .map(article -> new RetrievedArticle(article, strategyName(), article.getRelevanceScore() != null ? article.getRelevanceScore() : 0.0))
+        AppProperties.SearchProperties.Engine engine = properties.search().getEngine();
+        if (engine == AppProperties.SearchProperties.Engine.INVERTED_INDEX && searchIndex.isReady()) {
+            return retrieveFromIndex(context, searchQuery, limit);
+        }
+        if (engine == AppProperties.SearchProperties.Engine.TRIGRAM) {
+            return toRetrieved(repository.searchSubstring(RetrievalSupport.baseFilter(context), searchQuery, limit));
+        }
+        if (engine == AppProperties.SearchProperties.Engine.LIKE) {
+            return toRetrieved(repository.searchSubstringByRelevance(RetrievalSupport.baseFilter(context), searchQuery,
+                limit));
+        }
+        return retrieveFullText(context, searchQuery, limit);
+    }
+
+    @Override
+    public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+        String searchQuery = resolveSearchQuery(context);
+        if (searchQuery == null || searchQuery.isBlank()) {
+            return Optional.empty();
+        }
+        return switch (properties.search().getEngine()) {
+            case FULL_TEXT -> Optional.of(CandidateBranch.fullText(strategyName(), RetrievalSupport.baseFilter(context),
+                searchQuery, limit));
+            case TRIGRAM -> Optional.of(CandidateBranch.substring(strategyName(), RetrievalSupport.baseFilter(context),
+                searchQuery, limit));
+            default -> Optional.empty();
+        };
+    }
+
+    private static String resolveSearchQuery(RetrievalContext context) {
+        return Optional.ofNullable(context.parsedQuery().searchQuery())
+            .filter(q -> !q.isBlank())
+            .orElseGet(() -> context.request().query());
+    }
+
+    private List<RetrievedArticle> retrieveFullText(RetrievalContext context, String searchQuery, int limit) {
+        ArticleFilter filter = RetrievalSupport.baseFilter(context);
+        List<ScoredArticle> matches = repository.searchFullText(filter, searchQuery, true, limit);
+        if (matches.isEmpty()) {
+            // long natural-language queries rarely contain every lexeme; let the cover-density rank sort out partial matches
+            matches = repository.searchFullText(filter, searchQuery, false, limit);
+        }
+        return toRetrieved(matches);
+    }
+
+    private List<RetrievedArticle> toRetrieved(List<ScoredArticle> matches) {
+        return matches.stream()
+            .map(match -> new RetrievedArticle(match.article(), strategyName(), match.score()))
+            .collect(Collectors.toList());
+    }
+
+    private List<RetrievedArticle> retrieveFromIndex(RetrievalContext context, String searchQuery, int limit) {
+        List<ScoredArticle> matches = searchIndex.search(searchQuery, RetrievalSupport.baseFilter(context), limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        // BM25 is unbounded; scale against the best hit so the primary score stays within [0, 1]
+        double best = Math.max(matches.get(0).score(), Double.MIN_VALUE);
+        return matches.stream()
+            .map(match -> new RetrievedArticle(match.article(), strategyName(), match.score() / best))
             .collect(Collectors.toList());
     }
 
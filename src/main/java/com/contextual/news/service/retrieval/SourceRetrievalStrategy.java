@@ -1,16 +1,14 @@
 package com.contextual.news.service.retrieval;
 
-import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.CandidateBranch;
 import com.contextual.news.domain.repository.NewsArticleRepository;
-import com.contextual.news.domain.specification.ArticleSpecifications;
 import com.contextual.news.llm.model.ParsedQuery;
 import com.contextual.news.llm.model.QueryIntent;
 import com.contextual.news.service.model.RetrievedArticle;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import org.springframework.core.annotation.Order;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -31,17 +29,20 @@ public class SourceRetrievalStrategy implements ArticleRetrievalStrategy {
 
     @Override
     public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
-        ParsedQuery parsed = context.parsedQuery();
-        String source = parsed.filters().source();
+        String source = context.parsedQuery().filters().source();
         if (source == null) {
             return Collections.emptyList();
         }
-        Specification<NewsArticle> spec = RetrievalSupport.baseSpecification(parsed)
-            .and(ArticleSpecifications.hasSource(source));
-        spec = RetrievalSupport.applyNearbyBoundingBox(context, spec);
-        return repository.findAll(spec, RetrievalSupport.pageable(limit)).stream()
-            .map(article -> new RetrievedArticle(article, strategyName(), article.getRelevanceScore() != null ? article.getRelevanceScore() : 0.0))
-            .collect(Collectors.toList());
+        return fromCandidates(context, repository.findByRelevance(RetrievalSupport.baseFilter(context).withSource(source), limit), limit);
+    }
+
+    @Override
+    public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+        String source = context.parsedQuery().filters().source();
+        if (source == null) {
+            return Optional.empty();
+        }
+        return Optional.of(CandidateBranch.byRelevance(strategyName(), RetrievalSupport.baseFilter(context).withSource(source), limit));
     }
 
     @Override
@@ -0,0 +1,54 @@
+package com.contextual.news.service.search;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.ScoredArticle;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link InvertedIndex} snapshot. Articles are immutable once loaded, so the snapshot is swapped
+ * wholesale on rebuild and read without locking.
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    private final AppProperties properties;
+    private volatile InvertedIndex index;
+
+    public ArticleSearchIndex(AppProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.search().getEngine() == AppProperties.SearchProperties.Engine.INVERTED_INDEX;
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public void rebuild(List<NewsArticle> articles) {
+        long started = System.nanoTime();
+        AppProperties.SearchProperties search = properties.search();
+        InvertedIndex rebuilt = InvertedIndex.build(articles, search.getBm25K1(), search.getBm25B(), search.getTitleWeight());
+        this.index = rebuilt;
+        log.info("Built inverted index over {} articles ({} terms) in {} ms",
+            rebuilt.size(), rebuilt.termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public List<ScoredArticle> search(String query, ArticleFilter filter, int limit) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        IntPredicate accept = filter == null ? doc -> true : doc -> filter.matches(current.document(doc));
+        return current.search(query, accept, limit);
+    }
+}
@@ -0,0 +1,202 @@
+package com.contextual.news.service.search;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ScoredArticle;
+import com.contextual.news.service.util.TextTokenizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable BM25 index over article titles and descriptions. Title terms count {@code titleWeight} times towards
+ * the term frequency and the document length (a single-field approximation of BM25F). Top-k queries use MaxScore:
+ * terms whose combined upper bounds cannot beat the current k-th score stop driving candidate generation and are
+ * only probed for documents the remaining terms already surfaced.
+ */
+public final class InvertedIndex {
+
+    private final NewsArticle[] documents;
+    private final Map<String, PostingList> postings;
+    private final float[] lengthNorms;
+    private final double k1;
+
+    private InvertedIndex(NewsArticle[] documents, Map<String, PostingList> postings, float[] lengthNorms, double k1) {
+        this.documents = documents;
+        this.postings = postings;
+        this.lengthNorms = lengthNorms;
+        this.k1 = k1;
+    }
+
+    public static InvertedIndex build(List<NewsArticle> articles, double k1, double b, int titleWeight) {
+        NewsArticle[] documents = articles.toArray(new NewsArticle[0]);
+        Map<String, GrowablePostings> building = new HashMap<>();
+        int[] lengths = new int[documents.length];
+        long totalLength = 0;
+        for (int doc = 0; doc < documents.length; doc++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : TextTokenizer.tokens(documents[doc].getTitle())) {
+                frequencies.merge(token, titleWeight, Integer::sum);
+            }
+            for (String token : TextTokenizer.tokens(documents[doc].getDescription())) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                building.computeIfAbsent(entry.getKey(), key -> new GrowablePostings()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            lengths[doc] = length;
+            totalLength += length;
+        }
+
+        double averageLength = documents.length > 0 ? Math.max(1.0, (double) totalLength / documents.length) : 1.0;
+        float[] lengthNorms = new float[documents.length];
+        for (int doc = 0; doc < documents.length; doc++) {
+            lengthNorms[doc] = (float) (k1 * (1 - b + b * lengths[doc] / averageLength));
+        }
+
+        Map<String, PostingList> postings = new HashMap<>(building.size() * 2);
+        for (Map.Entry<String, GrowablePostings> entry : building.entrySet()) {
+            GrowablePostings list = entry.getValue();
+            double idf = idf(documents.length, list.size);
+            double upperBound = 0.0;
+            for (int i = 0; i < list.size; i++) {
+                upperBound = Math.max(upperBound, termScore(idf, list.frequencies[i], lengthNorms[list.docs[i]], k1));
+            }
+            postings.put(entry.getKey(), PostingList.encode(list.docs, list.frequencies, list.size, upperBound));
+        }
+        return new InvertedIndex(documents, postings, lengthNorms, k1);
+    }
+
+    public int size() {
+        return documents.length;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Returns at most {@code k} documents accepted by {@code filter}, best BM25 score first.
+     */
+    public List<ScoredArticle> search(String query, IntPredicate filter, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        List<TermCursor> terms = new ArrayList<>();
+        for (String token : new LinkedHashSet<>(TextTokenizer.tokens(query))) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                terms.add(new TermCursor(list.cursor(), idf(documents.length, list.size())));
+            }
+        }
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        terms.sort(Comparator.comparingDouble(term -> term.cursor.upperBound()));
+        int termCount = terms.size();
+        double[] cumulativeBound = new double[termCount];
+        double running = 0.0;
+        for (int i = 0; i < termCount; i++) {
+            running += terms.get(i).cursor.upperBound();
+            cumulativeBound[i] = running;
+            terms.get(i).cursor.next();
+        }
+
+        PriorityQueue<Hit> heap = new PriorityQueue<>(k, Hit.WORST_FIRST);
+        double threshold = 0.0;
+        // terms [0, firstEssential) cannot produce a top-k hit on their own
+        int firstEssential = 0;
+        while (firstEssential < termCount) {
+            int doc = PostingList.NO_MORE_DOCS;
+            for (int i = firstEssential; i < termCount; i++) {
+                doc = Math.min(doc, terms.get(i).cursor.doc());
+            }
+            if (doc == PostingList.NO_MORE_DOCS) {
+                break;
+            }
+            double score = 0.0;
+            for (int i = firstEssential; i < termCount; i++) {
+                TermCursor term = terms.get(i);
+                if (term.cursor.doc() == doc) {
+                    score += termScore(term.idf, term.cursor.frequency(), lengthNorms[doc], k1);
+                    term.cursor.next();
+                }
+            }
+            if (!filter.test(doc)) {
+                continue;
+            }
+            for (int i = firstEssential - 1; i >= 0 && (heap.size() < k || score + cumulativeBound[i] > threshold); i--) {
+                TermCursor term = terms.get(i);
+                if (term.cursor.advance(doc) == doc) {
+                    score += termScore(term.idf, term.cursor.frequency(), lengthNorms[doc], k1);
+                }
+            }
+            if (heap.size() < k) {
+                heap.add(new Hit(doc, score));
+            } else if (score > threshold) {
+                heap.poll();
+                heap.add(new Hit(doc, score));
+            } else {
+                continue;
+            }
+            if (heap.size() == k) {
+                threshold = heap.peek().score;
+                while (firstEssential < termCount && cumulativeBound[firstEssential] <= threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+
+        Hit[] hits = heap.toArray(new Hit[0]);
+        Arrays.sort(hits, Hit.WORST_FIRST.reversed());
+        List<ScoredArticle> results = new ArrayList<>(hits.length);
+        for (Hit hit : hits) {
+            results.add(new ScoredArticle(documents[hit.doc], hit.score));
+        }
+        return results;
+    }
+
+    NewsArticle document(int doc) {
+        return documents[doc];
+    }
+
+    private static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double termScore(double idf, int frequency, float lengthNorm, double k1) {
+        return idf * frequency * (k1 + 1) / (frequency + lengthNorm);
+    }
+
+    private record Hit(int doc, double score) {
+        // ties go to the earlier document so results are stable across runs
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::doc).reversed());
+    }
+
+    private record TermCursor(PostingList.Cursor cursor, double idf) {
+    }
+
+    private static final class GrowablePostings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
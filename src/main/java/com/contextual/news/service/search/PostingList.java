@@ -0,0 +1,146 @@
+package com.contextual.news.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable posting list of {@code (docId, termFrequency)} pairs. Doc ids are delta encoded and both values are
+ * written as variable-length bytes; a skip entry is kept for every {@value #BLOCK_SIZE} postings so cursors can
+ * jump over whole blocks when advancing.
+ */
+final class PostingList {
+
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    static final int BLOCK_SIZE = 64;
+
+    private final byte[] data;
+    private final int size;
+    private final int[] blockLastDoc;
+    private final int[] blockOffset;
+    private final double upperBound;
+
+    private PostingList(byte[] data, int size, int[] blockLastDoc, int[] blockOffset, double upperBound) {
+        this.data = data;
+        this.size = size;
+        this.blockLastDoc = blockLastDoc;
+        this.blockOffset = blockOffset;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * @param docIds strictly increasing doc ids
+     * @param frequencies term frequency for the doc at the same position
+     * @param upperBound highest score contribution of any posting, used for MaxScore pruning
+     */
+    static PostingList encode(int[] docIds, int[] frequencies, int size, double upperBound) {
+        byte[] buffer = new byte[Math.max(16, size * 3)];
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] lastDocs = new int[blocks];
+        int[] offsets = new int[blocks];
+        int position = 0;
+        int previous = -1;
+        for (int i = 0; i < size; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                offsets[i / BLOCK_SIZE] = position;
+            }
+            if (buffer.length - position < 10) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            position = writeVInt(buffer, position, docIds[i] - previous);
+            position = writeVInt(buffer, position, frequencies[i]);
+            previous = docIds[i];
+            lastDocs[i / BLOCK_SIZE] = docIds[i];
+        }
+        return new PostingList(Arrays.copyOf(buffer, position), size, lastDocs, offsets, upperBound);
+    }
+
+    int size() {
+        return size;
+    }
+
+    double upperBound() {
+        return upperBound;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private static int writeVInt(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    final class Cursor {
+
+        private int index = -1;
+        private int position;
+        private int doc = -1;
+        private int frequency;
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        double upperBound() {
+            return upperBound;
+        }
+
+        int next() {
+            if (++index >= size) {
+                doc = NO_MORE_DOCS;
+                return doc;
+            }
+            doc += readVInt();
+            frequency = readVInt();
+            return doc;
+        }
+
+        /**
+         * Moves to the first posting with a doc id of at least {@code target}, skipping whole blocks where possible.
+         */
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            int block = index < 0 ? -1 : index / BLOCK_SIZE;
+            if (block < 0 || blockLastDoc[block] < target) {
+                int next = block + 1;
+                while (next < blockLastDoc.length && blockLastDoc[next] < target) {
+                    next++;
+                }
+                if (next >= blockLastDoc.length) {
+                    index = size;
+                    doc = NO_MORE_DOCS;
+                    return doc;
+                }
+                index = next * BLOCK_SIZE - 1;
+                position = blockOffset[next];
+                doc = next == 0 ? -1 : blockLastDoc[next - 1];
+            }
+            while (doc < target) {
+                next();
+            }
+            return doc;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+    }
+}
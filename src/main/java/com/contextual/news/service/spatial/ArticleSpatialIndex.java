@@ -0,0 +1,70 @@
+package com.contextual.news.service.spatial;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.NearbyArticle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link SpatialGridIndex} snapshot together with the articles its point ids refer to.
+ */
+@Component
+public class ArticleSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSpatialIndex.class);
+
+    private final AppProperties properties;
+    private volatile Snapshot snapshot;
+
+    public ArticleSpatialIndex(AppProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.nearby().getEngine() == AppProperties.NearbyProperties.Engine.SPATIAL_INDEX;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public void rebuild(List<NewsArticle> articles) {
+        long started = System.nanoTime();
+        NewsArticle[] documents = articles.toArray(new NewsArticle[0]);
+        double[] latitudes = new double[documents.length];
+        double[] longitudes = new double[documents.length];
+        for (int i = 0; i < documents.length; i++) {
+            latitudes[i] = documents[i].getLatitude();
+            longitudes[i] = documents[i].getLongitude();
+        }
+        SpatialGridIndex grid = SpatialGridIndex.build(latitudes, longitudes, properties.nearby().getGridCellDegrees());
+        this.snapshot = new Snapshot(grid, documents);
+        log.info("Built spatial index over {} articles in {} ms", grid.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Up to {@code limit} articles within {@code radiusKm} of the origin that pass {@code filter}, nearest first.
+     */
+    public List<NearbyArticle> nearest(double latitude, double longitude, double radiusKm, ArticleFilter filter, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        IntPredicate accept = filter == null ? id -> true : id -> filter.matches(current.documents[id]);
+        SpatialGridIndex.Neighbours neighbours = current.grid.nearest(latitude, longitude, limit, radiusKm, accept);
+        List<NearbyArticle> results = new ArrayList<>(neighbours.size());
+        for (int i = 0; i < neighbours.size(); i++) {
+            results.add(new NearbyArticle(current.documents[neighbours.id(i)], neighbours.distanceKm(i)));
+        }
+        return results;
+    }
+
+    private record Snapshot(SpatialGridIndex grid, NewsArticle[] documents) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.contextual.news.service.spatial;
+
+import com.contextual.news.service.util.GeoUtils;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable packed grid over latitude/longitude points. Points are sorted by cell and stored in primitive arrays,
+ * with a compressed row index ({@code cellStart}) pointing at each cell's slice. Radius queries visit only the cells
+ * overlapping the search cap's bounding box, wrap around the antimeridian and confirm every candidate with the
+ * haversine distance.
+ */
+public final class SpatialGridIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double MAX_DISTANCE_KM = 20_016.0;
+    private static final double INITIAL_KNN_RADIUS_KM = 25.0;
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final int[] cellStart;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] ids;
+
+    private SpatialGridIndex(double cellDegrees, int rows, int columns, int[] cellStart,
+                             double[] latitudes, double[] longitudes, int[] ids) {
+        this.cellDegrees = cellDegrees;
+        this.rows = rows;
+        this.columns = columns;
+        this.cellStart = cellStart;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.ids = ids;
+    }
+
+    /**
+     * @param latitudes latitude of point {@code i}
+     * @param longitudes longitude of point {@code i}; results report {@code i} as the point id
+     */
+    public static SpatialGridIndex build(double[] latitudes, double[] longitudes, double cellDegrees) {
+        if (cellDegrees <= 0.0 || cellDegrees > 90.0) {
+            throw new IllegalArgumentException("cellDegrees must be within (0, 90]");
+        }
+        int rows = (int) Math.ceil(180.0 / cellDegrees);
+        int columns = (int) Math.ceil(360.0 / cellDegrees);
+        int count = latitudes.length;
+        int[] cells = new int[count];
+        int[] cellStart = new int[rows * columns + 1];
+        for (int i = 0; i < count; i++) {
+            cells[i] = cell(row(latitudes[i], cellDegrees, rows), column(longitudes[i], cellDegrees, columns), columns);
+            cellStart[cells[i] + 1]++;
+        }
+        for (int c = 0; c < rows * columns; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] cursor = Arrays.copyOf(cellStart, cellStart.length - 1);
+        double[] packedLatitudes = new double[count];
+        double[] packedLongitudes = new double[count];
+        int[] packedIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = cursor[cells[i]]++;
+            packedLatitudes[slot] = latitudes[i];
+            packedLongitudes[slot] = longitudes[i];
+            packedIds[slot] = i;
+        }
+        return new SpatialGridIndex(cellDegrees, rows, columns, cellStart, packedLatitudes, packedLongitudes, packedIds);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * All accepted points within {@code radiusKm}, nearest first.
+     */
+    public Neighbours withinRadius(double latitude, double longitude, double radiusKm, IntPredicate filter) {
+        Neighbours found = new Neighbours(16);
+        collect(latitude, longitude, radiusKm, filter, found);
+        found.sortByDistance();
+        return found;
+    }
+
+    /**
+     * The {@code k} accepted points nearest to the origin and no further than {@code maxRadiusKm}, nearest first.
+     * The search radius doubles until it holds {@code k} points, which guarantees the true k nearest are inside it.
+     */
+    public Neighbours nearest(double latitude, double longitude, int k, double maxRadiusKm, IntPredicate filter) {
+        double limit = Math.min(maxRadiusKm, MAX_DISTANCE_KM);
+        double radius = Math.min(limit, INITIAL_KNN_RADIUS_KM);
+        while (true) {
+            Neighbours found = new Neighbours(Math.max(16, k));
+            collect(latitude, longitude, radius, filter, found);
+            if (found.size() >= k || radius >= limit) {
+                found.sortByDistance();
+                found.truncate(k);
+                return found;
+            }
+            radius = Math.min(limit, radius * 2);
+        }
+    }
+
+    private void collect(double latitude, double longitude, double radiusKm, IntPredicate filter, Neighbours found) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double minLatitude = latitude - Math.toDegrees(angularRadius);
+        double maxLatitude = latitude + Math.toDegrees(angularRadius);
+        int firstColumn = 0;
+        int span = columns;
+        if (minLatitude > -90.0 && maxLatitude < 90.0) {
+            // widest longitude extent of a spherical cap that does not contain a pole
+            double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+            if (longitudeDelta < 180.0) {
+                firstColumn = column(longitude - longitudeDelta, cellDegrees, columns);
+                int lastColumn = column(longitude + longitudeDelta, cellDegrees, columns);
+                span = Math.floorMod(lastColumn - firstColumn, columns) + 1;
+            }
+        }
+        int minRow = row(Math.max(-90.0, minLatitude), cellDegrees, rows);
+        int maxRow = row(Math.min(90.0, maxLatitude), cellDegrees, rows);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int offset = 0; offset < span; offset++) {
+                int cell = cell(row, (firstColumn + offset) % columns, columns);
+                for (int slot = cellStart[cell]; slot < cellStart[cell + 1]; slot++) {
+                    int id = ids[slot];
+                    if (!filter.test(id)) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]);
+                    if (distance <= radiusKm) {
+                        found.add(id, distance);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int row(double latitude, double cellDegrees, int rows) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90.0) / cellDegrees)));
+    }
+
+    private static int column(double longitude, double cellDegrees, int columns) {
+        // normalise into [0, 360) first so longitudes past the antimeridian land in the wrapped column
+        double offset = ((longitude + 180.0) % 360.0 + 360.0) % 360.0;
+        return Math.min(columns - 1, (int) Math.floor(offset / cellDegrees));
+    }
+
+    private static int cell(int row, int column, int columns) {
+        return row * columns + column;
+    }
+
+    /**
+     * Parallel primitive arrays of point ids and distances.
+     */
+    public static final class Neighbours {
+
+        private int[] ids;
+        private double[] distances;
+        private int size;
+
+        private Neighbours(int capacity) {
+            this.ids = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int id(int index) {
+            return ids[index];
+        }
+
+        public double distanceKm(int index) {
+            return distances[index];
+        }
+
+        private void add(int id, double distance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            ids[size] = id;
+            distances[size] = distance;
+            size++;
+        }
+
+        private void truncate(int maxSize) {
+            size = Math.min(size, Math.max(0, maxSize));
+        }
+
+        private void sortByDistance() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // stable on ties: equal distances keep ascending point id order
+            Arrays.sort(order, (left, right) -> {
+                int byDistance = Double.compare(distances[left], distances[right]);
+                return byDistance != 0 ? byDistance : Integer.compare(ids[left], ids[right]);
+            });
+            int[] sortedIds = new int[size];
+            double[] sortedDistances = new double[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedDistances[i] = distances[order[i]];
+            }
+            ids = sortedIds;
+            distances = sortedDistances;
+        }
+    }
+}
@@ -112,7 +112,7 @@ public class TrendingService {
         Map<UUID, List<ArticleTrendAggregate>> aggregatesByArticle = aggregates.stream()
             .collect(Collectors.groupingBy(aggregate -> aggregate.getId().getArticleId()));
 
-        List<NewsArticle> articles = articleRepository.findAllById(aggregatesByArticle.keySet());
+        List<NewsArticle> articles = articleRepository.findAllCachedById(aggregatesByArticle.keySet());
         Map<UUID, NewsArticle> articleMap = articles.stream()
             .collect(Collectors.toMap(NewsArticle::getId, a -> a));
 
@@ -0,0 +1,29 @@
+package com.contextual.news.service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Lower-cases, strips everything but ASCII letters and digits and drops tokens of two characters or fewer.
+     * Duplicates are kept so callers can derive term frequencies.
+     */
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        String normalized = text.toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9 ]", " ");
+        List<String> result = new ArrayList<>();
+        for (String token : normalized.split("\\s+")) {
+            if (token.length() > 2) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+-- earthdistance's earth type (a 3-D cube on the earth's surface) gives nearest-neighbour ordering by great-circle
+-- distance: the GiST-indexed <-> operator measures chord length, which grows monotonically with arc length.
+CREATE EXTENSION IF NOT EXISTS cube;
+CREATE EXTENSION IF NOT EXISTS earthdistance;
+
+ALTER TABLE news_article
+    ADD COLUMN IF NOT EXISTS location earth GENERATED ALWAYS AS (ll_to_earth(latitude, longitude)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_news_article_location ON news_article USING GIST (location);
@@ -0,0 +1,11 @@
+-- Distinct ranking tokens of title + description, mirroring TextTokenizer (lower-case ASCII letters and digits,
+-- longer than two characters). Candidate queries read this instead of the full text.
+CREATE OR REPLACE FUNCTION article_token_digest(title TEXT, description TEXT) RETURNS TEXT[]
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT coalesce(array_agg(DISTINCT token ORDER BY token), '{}')
+    FROM regexp_split_to_table(lower(coalesce(title, '') || ' ' || coalesce(description, '')), '[^a-z0-9]+') AS token
+    WHERE length(token) > 2
+$$;
+
+ALTER TABLE news_article
+    ADD COLUMN IF NOT EXISTS token_digest TEXT[] GENERATED ALWAYS AS (article_token_digest(title, description)) STORED;
@@ -0,0 +1,17 @@
+-- Lower-cased, de-duplicated copy of article_category per article, written by the application together with the
+-- collection table. Category filters test array containment against it through the GIN index instead of joining
+-- article_category and de-duplicating the joined rows.
+ALTER TABLE news_article
+    ADD COLUMN IF NOT EXISTS categories TEXT[] NOT NULL DEFAULT '{}';
+
+UPDATE news_article a
+SET categories = c.categories
+FROM (
+    SELECT article_id, array_agg(DISTINCT lower(category) ORDER BY lower(category)) AS categories
+    FROM article_category
+    GROUP BY article_id
+) c
+WHERE c.article_id = a.id
+  AND a.categories = '{}';
+
+CREATE INDEX IF NOT EXISTS idx_news_article_categories ON news_article USING GIN (categories);
@@ -0,0 +1,14 @@
+-- Indexes shaped after the candidate queries in NewsArticleRepositoryImpl and ArticleSpecifications. Those queries
+-- end in ORDER BY relevance_score DESC NULLS LAST, publication_date DESC NULLS LAST LIMIT k, so the filters get
+-- composite indexes that hand rows back already in that order.
+DROP INDEX IF EXISTS idx_news_article_relevance;
+CREATE INDEX IF NOT EXISTS idx_news_article_relevance_date
+    ON news_article (relevance_score DESC NULLS LAST, publication_date DESC NULLS LAST);
+
+-- source filters compare lower(source_name), which the raw-column index could not serve
+DROP INDEX IF EXISTS idx_news_article_source;
+CREATE INDEX IF NOT EXISTS idx_news_article_source_lower
+    ON news_article (lower(source_name), relevance_score DESC NULLS LAST, publication_date DESC NULLS LAST);
+
+-- bounding-box filters: a range on latitude, then longitude checked from the index entry
+CREATE INDEX IF NOT EXISTS idx_news_article_lat_lon ON news_article (latitude, longitude);
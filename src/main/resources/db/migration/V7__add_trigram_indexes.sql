@@ -0,0 +1,7 @@
+-- Trigram indexes for the substring search engine (app.search.engine=trigram). They are built on the same lower(...)
+-- expressions the LIKE predicates use, so '%term%' matches become bitmap index scans instead of sequential scans.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_news_article_title_trgm ON news_article USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_news_article_description_trgm
+    ON news_article USING GIN (lower(description) gin_trgm_ops);
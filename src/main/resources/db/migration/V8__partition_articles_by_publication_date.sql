@@ -0,0 +1,80 @@
+-- Range-partitions news_article and article_category by publication_date so queries bounded to a recent window
+-- (app.retrieval.recency-window) only touch the partitions that window overlaps. Both tables start with a DEFAULT
+-- partition only; ArticlePartitionManager creates the per-period partitions and moves rows out of the defaults.
+-- A partitioned table's unique keys must contain the partition key, so the primary key becomes
+-- (id, publication_date), publication_date becomes NOT NULL (undated rows take their ingestion time), and
+-- article_category carries the article's publication_date to reference it and to be partitioned alongside it.
+
+-- a foreign key can no longer reference news_article(id) alone; trending rows for a removed article are skipped
+-- when the feed is hydrated
+ALTER TABLE IF EXISTS article_trend_aggregate DROP CONSTRAINT IF EXISTS article_trend_aggregate_article_id_fkey;
+
+CREATE TABLE news_article_partitioned (
+    id UUID NOT NULL,
+    title TEXT NOT NULL,
+    description TEXT,
+    url TEXT,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    source_name TEXT,
+    relevance_score DOUBLE PRECISION,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    tsv tsvector GENERATED ALWAYS AS (
+        to_tsvector('english', coalesce(title, '') || ' ' || coalesce(description, ''))
+    ) STORED,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    location earth GENERATED ALWAYS AS (ll_to_earth(latitude, longitude)) STORED,
+    token_digest TEXT[] GENERATED ALWAYS AS (article_token_digest(title, description)) STORED,
+    categories TEXT[] NOT NULL DEFAULT '{}',
+    PRIMARY KEY (id, publication_date)
+) PARTITION BY RANGE (publication_date);
+
+CREATE TABLE news_article_default PARTITION OF news_article_partitioned DEFAULT;
+
+CREATE TABLE article_category_partitioned (
+    article_id UUID NOT NULL,
+    category VARCHAR(80) NOT NULL,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (article_id, category, publication_date),
+    CONSTRAINT article_category_article_fkey FOREIGN KEY (article_id, publication_date)
+        REFERENCES news_article_partitioned (id, publication_date) ON DELETE CASCADE ON UPDATE CASCADE
+) PARTITION BY RANGE (publication_date);
+
+CREATE TABLE article_category_default PARTITION OF article_category_partitioned DEFAULT;
+
+INSERT INTO news_article_partitioned (id, title, description, url, publication_date, source_name, relevance_score,
+                                      latitude, longitude, categories, created_at, updated_at)
+SELECT id, title, description, url, coalesce(publication_date, created_at, NOW()), source_name, relevance_score,
+       latitude, longitude, categories, created_at, updated_at
+FROM news_article;
+
+INSERT INTO article_category_partitioned (article_id, category, publication_date)
+SELECT c.article_id, c.category, a.publication_date
+FROM article_category c
+JOIN news_article_partitioned a ON a.id = c.article_id;
+
+DROP TABLE article_category;
+DROP TABLE news_article;
+
+ALTER TABLE news_article_partitioned RENAME TO news_article;
+ALTER TABLE news_article RENAME CONSTRAINT news_article_partitioned_pkey TO news_article_pkey;
+ALTER TABLE article_category_partitioned RENAME TO article_category;
+ALTER TABLE article_category RENAME CONSTRAINT article_category_partitioned_pkey TO article_category_pkey;
+
+-- the indexes from V1-V7, declared on the parents so every partition gets its own copy
+CREATE INDEX IF NOT EXISTS idx_news_article_publication_date ON news_article (publication_date DESC NULLS LAST);
+CREATE INDEX IF NOT EXISTS idx_news_article_relevance_date
+    ON news_article (relevance_score DESC NULLS LAST, publication_date DESC NULLS LAST);
+CREATE INDEX IF NOT EXISTS idx_news_article_source_lower
+    ON news_article (lower(source_name), relevance_score DESC NULLS LAST, publication_date DESC NULLS LAST);
+CREATE INDEX IF NOT EXISTS idx_news_article_lat_lon ON news_article (latitude, longitude);
+CREATE INDEX IF NOT EXISTS idx_news_article_tsv ON news_article USING GIN (tsv);
+CREATE INDEX IF NOT EXISTS idx_news_article_location ON news_article USING GIST (location);
+CREATE INDEX IF NOT EXISTS idx_news_article_categories ON news_article USING GIN (categories);
+CREATE INDEX IF NOT EXISTS idx_news_article_title_trgm ON news_article USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_news_article_description_trgm
+    ON news_article USING GIN (lower(description) gin_trgm_ops);
+-- primary-key lookups by id alone (merge, findById) probe every partition through this instead of the composite key
+CREATE INDEX IF NOT EXISTS idx_news_article_id ON news_article (id);
+CREATE INDEX IF NOT EXISTS idx_article_category_category ON article_category (category);
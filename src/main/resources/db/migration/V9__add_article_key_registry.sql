@@ -0,0 +1,54 @@
+-- Since V8 the primary key of news_article is (id, publication_date), so nothing stops the same id from being
+-- stored again under another publication date, and article_trend_aggregate lost its foreign key. news_article_key
+-- restores both: it holds one row per article id with that article's publication_date, every article row must
+-- match one (so an id has exactly one publication date), and trending rows reference it.
+--
+-- Key rows are written by a trigger before each article row. They outlive the article row itself: the partition
+-- manager deletes rows from the default partition and inserts them again when it creates a partition, and that
+-- must neither free the id for another date nor cascade to trending rows.
+--
+-- spring.sql.init runs this script on every start and splits it on semicolons outside single quotes, hence the
+-- leading DROP and the single-quoted PL/pgSQL bodies.
+
+DROP TABLE IF EXISTS news_article_key CASCADE;
+
+CREATE TABLE news_article_key (
+    id UUID PRIMARY KEY,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT news_article_key_id_publication_date_key UNIQUE (id, publication_date)
+);
+
+INSERT INTO news_article_key (id, publication_date)
+SELECT DISTINCT ON (id) id, publication_date
+FROM news_article
+ORDER BY id, publication_date;
+
+-- fails if an id is already stored under two publication dates
+ALTER TABLE news_article ADD CONSTRAINT news_article_key_fkey FOREIGN KEY (id, publication_date)
+    REFERENCES news_article_key (id, publication_date);
+
+-- an id registered under another date is left as it is, and the foreign key above then rejects the row
+CREATE OR REPLACE FUNCTION register_article_key() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO news_article_key (id, publication_date)
+    VALUES (NEW.id, NEW.publication_date)
+    ON CONFLICT (id) DO NOTHING;
+    RETURN NEW;
+END;
+';
+
+DROP TRIGGER IF EXISTS news_article_register_key ON news_article;
+CREATE TRIGGER news_article_register_key
+    BEFORE INSERT ON news_article
+    FOR EACH ROW EXECUTE FUNCTION register_article_key();
+
+DO '
+BEGIN
+    IF to_regclass(''article_trend_aggregate'') IS NOT NULL THEN
+        DELETE FROM article_trend_aggregate t
+        WHERE NOT EXISTS (SELECT 1 FROM news_article_key k WHERE k.id = t.article_id);
+        ALTER TABLE article_trend_aggregate ADD CONSTRAINT article_trend_aggregate_article_id_fkey
+            FOREIGN KEY (article_id) REFERENCES news_article_key (id) ON DELETE CASCADE;
+    END IF;
+END;
+';
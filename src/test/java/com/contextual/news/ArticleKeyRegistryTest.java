@@ -0,0 +1,66 @@
+package com.contextual.news;
+
+import java.util.UUID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Article ids stay unique across publication-date partitions, and trending rows may only reference stored articles.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ArticleKeyRegistryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.4-alpine")
+        .withDatabaseName("contextual_news")
+        .withUsername("contextual_news")
+        .withPassword("contextual_news");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.data.bootstrap-enabled", () -> false);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void anIdCannotBeStoredUnderASecondPublicationDate() {
+        UUID id = UUID.randomUUID();
+        insert(id, "2025-03-05T00:00:00Z");
+
+        Assertions.assertThatThrownBy(() -> insert(id, "2025-01-05T00:00:00Z"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM news_article WHERE id = ?",
+            Long.class, id)).isEqualTo(1);
+    }
+
+    @Test
+    void trendingRowsReferenceStoredArticles() {
+        Assertions.assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO article_trend_aggregate"
+                + " (bucket_id, article_id, score, event_count, last_interaction_at) VALUES ('b', ?, 1, 1, now())",
+                UUID.randomUUID()))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void insert(UUID id, String publicationDate) {
+        jdbcTemplate.update("INSERT INTO news_article (id, title, publication_date, latitude, longitude)"
+            + " VALUES (?, 'title', CAST(? AS timestamptz), 0, 0)", id, publicationDate);
+    }
+}
@@ -0,0 +1,274 @@
+package com.contextual.news;
+
+import com.contextual.news.api.dto.NewsQueryRequest;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.ArticleProjection;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.ScoredArticle;
+import com.contextual.news.domain.repository.NewsArticleRepository;
+import com.contextual.news.domain.specification.ArticleSpecifications;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.ArticleRankingService;
+import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
+import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.retrieval.ArticleHydrator;
+import com.contextual.news.service.retrieval.RetrievalContext;
+import com.contextual.news.service.util.TextTokenizer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the native candidate statements against the seeded data set and checks the rows they return.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CandidateQueryIntegrationTest {
+
+    // a day after the newest seeded article
+    private static final OffsetDateTime AS_OF = OffsetDateTime.parse("2025-03-27T00:00:00Z");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.4-alpine")
+        .withDatabaseName("contextual_news")
+        .withUsername("contextual_news")
+        .withPassword("contextual_news");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.llm.enabled", () -> false);
+        registry.add("app.data.bootstrap-enabled", () -> true);
+    }
+
+    @Autowired
+    private NewsArticleRepository repository;
+
+    @Autowired
+    private ArticleHydrator hydrator;
+
+    @Autowired
+    private ArticleRankingService rankingService;
+
+    @Test
+    void combinedStatementReturnsWhatEveryBranchReturnsOnItsOwn() {
+        ArticleFilter business = ArticleFilter.none().withCategory("business");
+        List<CandidateBranch> branches = List.of(
+            CandidateBranch.byRelevance("category", business, 10),
+            CandidateBranch.fullText("search", ArticleFilter.none(), "election", 10),
+            CandidateBranch.substring("like", ArticleFilter.none(), "market", 10),
+            CandidateBranch.nearest("nearby", ArticleFilter.none(), 19.07, 72.87, 50.0, 10));
+
+        Map<String, List<ScoredArticle>> combined = repository.findCandidates(branches);
+
+        Assertions.assertThat(combined).containsOnlyKeys("category", "search", "like", "nearby");
+        Assertions.assertThat(rows(combined.get("category"))).hasSize(10)
+            .isEqualTo(rows(repository.findByRelevance(business, 10)));
+        Assertions.assertThat(rows(combined.get("search"))).isNotEmpty()
+            .isEqualTo(rows(repository.searchFullText(ArticleFilter.none(), "election", true, 10)));
+        Assertions.assertThat(rows(combined.get("like"))).hasSize(10)
+            .isEqualTo(rows(repository.searchSubstring(ArticleFilter.none(), "market", 10)));
+        Assertions.assertThat(combined.get("nearby")).isNotEmpty()
+            .extracting(scored -> row(scored.article().getId(), scored.score()))
+            .isEqualTo(repository.findNearest(ArticleFilter.none(), 19.07, 72.87, 50.0, 10).stream()
+                .map(nearby -> row(nearby.article().getId(), nearby.distanceKm()))
+                .toList());
+    }
+
+    @Test
+    void fullTextBranchesRetryWithAnyLexemeWithinTheStatementAndItsBound() {
+        String query = "election zyxwvut";
+        NewsQueryRequest request = new NewsQueryRequest(query, null, 10, null, null);
+        RetrievalContext context = new RetrievalContext(request, ParsedQuery.fallback(query), AS_OF, null);
+        List<ArticleScore> ranked = rankingService.scoreArticles(
+            claimed(repository.searchFullText(ArticleFilter.none(), query, false, 1_000)), context, 1_000);
+        RetrievalContext next = new RetrievalContext(request, context.parsedQuery(), AS_OF,
+            PageCursor.after(AS_OF, ranked.get(2), "election"));
+
+        Map<String, List<ScoredArticle>> firstPage = repository.findCandidates(List.of(
+            CandidateBranch.fullText("search", ArticleFilter.none(), query, 10),
+            CandidateBranch.byRelevance("score", ArticleFilter.none(), 5)));
+        Map<String, List<ScoredArticle>> nextPage = repository.findCandidates(List.of(
+            CandidateBranch.fullText("search", ArticleFilter.none(), query, 10)
+                .withRanking(rankingService.rankingOrder(next)),
+            CandidateBranch.byRelevance("score", ArticleFilter.none(), 5)));
+
+        Assertions.assertThat(repository.searchFullText(ArticleFilter.none(), query, true, 10)).isEmpty();
+        Assertions.assertThat(ranked).hasSizeGreaterThan(12);
+        Assertions.assertThat(rows(firstPage.get("search"))).hasSize(10)
+            .isEqualTo(rows(repository.searchFullText(ArticleFilter.none(), query, false, 10)));
+        // partial matches are bounded by the cursor as well
+        Assertions.assertThat(nextPage.get("search")).extracting(scored -> scored.article().getId())
+            .containsExactlyElementsOf(ids(ranked.subList(2, 12)));
+    }
+
+    @Test
+    void projectionsCarryWhatRankingReadsAndHydrateIntoFullArticles() {
+        List<ScoredArticle> candidates = repository.searchSubstring(ArticleFilter.none(), "market", 10);
+
+        Map<UUID, NewsArticle> articles = hydrator.hydrate(candidates.stream().map(ScoredArticle::article).toList());
+
+        Assertions.assertThat(candidates).hasSize(10);
+        Assertions.assertThat(articles).hasSize(10);
+        for (ScoredArticle candidate : candidates) {
+            ArticleProjection projection = (ArticleProjection) candidate.article();
+            NewsArticle article = articles.get(projection.getId());
+            Assertions.assertThat(projection.getRelevanceScore()).isEqualTo(article.getRelevanceScore());
+            Assertions.assertThat(projection.getPublicationDate()).isAtSameInstantAs(article.getPublicationDate());
+            Assertions.assertThat(projection.getLatitude()).isEqualTo(article.getLatitude());
+            Assertions.assertThat(projection.getLongitude()).isEqualTo(article.getLongitude());
+            // the digest is the token set ranking would otherwise take from the text
+            Assertions.assertThat(projection.getTokenDigest()).isEqualTo(Set.copyOf(
+                TextTokenizer.tokens(article.getTitle() + " " + article.getDescription())));
+            Assertions.assertThat(Hibernate.isInitialized(article.getCategories())).isTrue();
+            Assertions.assertThat(article.getCategories()).isNotEmpty();
+        }
+    }
+
+    @Test
+    void rankedBranchesReturnTheArticlesTheFinalRankingKeeps() {
+        ArticleFilter business = ArticleFilter.none().withCategory("business");
+        NewsQueryRequest request = new NewsQueryRequest("market rally", null, 10, null, null);
+        RetrievalContext context = new RetrievalContext(request, ParsedQuery.fallback("market rally"), AS_OF, null);
+        // the final ranking over every business article
+        List<ArticleScore> ranked = rankingService.scoreArticles(
+            claimed(repository.findByRelevance(business, 1_000)), context, 1_000);
+
+        List<ScoredArticle> firstPage = repository.findCandidates(List.of(
+                CandidateBranch.byRelevance("category", business, 10).withRanking(rankingService.rankingOrder(context))))
+            .get("category");
+        RetrievalContext next = new RetrievalContext(request, context.parsedQuery(), AS_OF,
+            PageCursor.after(AS_OF, ranked.get(4), "markets"));
+        List<ScoredArticle> nextPage = repository.findCandidates(List.of(
+                CandidateBranch.byRelevance("category", business, 10).withRanking(rankingService.rankingOrder(next))))
+            .get("category");
+
+        Assertions.assertThat(ranked).hasSize(226);
+        Assertions.assertThat(firstPage).extracting(scored -> scored.article().getId())
+            .containsExactlyElementsOf(ids(ranked.subList(0, 10)));
+        // bounded at the cursor's score: the cursor row itself is cut in memory, not by the statement
+        Assertions.assertThat(nextPage).extracting(scored -> scored.article().getId())
+            .containsExactlyElementsOf(ids(ranked.subList(4, 14)));
+    }
+
+    @Test
+    void pagesOverOverlappingNearbyAndCategoryCandidatesNeverShareAnArticle() {
+        ArticleFilter business = ArticleFilter.none().withCategory("business");
+        NewsQueryRequest request = new NewsQueryRequest("market rally", new NewsQueryRequest.Location(19.07, 72.87), 10,
+            500.0, null);
+        RetrievalContext context = new RetrievalContext(request, ParsedQuery.fallback("market rally"), AS_OF, null);
+        Map<String, List<ScoredArticle>> everything = Map.of(
+            "category", repository.findByRelevance(business, 1_000),
+            "nearby", repository.findNearest(ArticleFilter.none(), 19.07, 72.87, 500.0, 2_000).stream()
+                .map(nearby -> new ScoredArticle(nearby.article(), nearby.distanceKm()))
+                .toList());
+        // the final ranking over every candidate, claimed once by the category and once by the nearby strategy
+        List<ArticleScore> ranked = rankingService.scoreArticles(claimedBy(everything, "category", "nearby"),
+            context, 5_000);
+        List<ArticleScore> rankedNearby = rankingService.scoreArticles(claimedBy(everything, "nearby", "category"),
+            context, 5_000);
+
+        List<UUID> paged = new ArrayList<>();
+        RetrievalContext page = context;
+        for (int number = 0; number < 5; number++) {
+            // one row past a page, as the bound keeps the cursor row itself
+            Map<String, List<ScoredArticle>> candidates = repository.findCandidates(List.of(
+                CandidateBranch.byRelevance("category", business, 11).withRanking(rankingService.rankingOrder(page)),
+                CandidateBranch.nearest("nearby", ArticleFilter.none(), 19.07, 72.87, 500.0, 11)
+                    .withRanking(rankingService.rankingOrder(page))));
+            List<ArticleScore> scored = rankingService.scoreArticles(claimedBy(candidates, "category", "nearby"),
+                page, 10);
+            Assertions.assertThat(scored).hasSize(10);
+            paged.addAll(ids(scored));
+            page = new RetrievalContext(request, context.parsedQuery(), AS_OF,
+                PageCursor.after(AS_OF, scored.get(scored.size() - 1), "market rally"));
+        }
+
+        // the nearby and business candidates overlap, and whichever strategy claims an article scores it the same
+        Assertions.assertThat(everything.get("nearby")).extracting(scored -> scored.article().getId())
+            .containsAnyElementsOf(everything.get("category").stream().map(scored -> scored.article().getId()).toList());
+        Assertions.assertThat(rankedNearby).extracting(ArticleScore::finalScore)
+            .containsExactlyElementsOf(ranked.stream().map(ArticleScore::finalScore).toList());
+        Assertions.assertThat(paged).doesNotHaveDuplicates().containsExactlyElementsOf(ids(ranked.subList(0, 50)));
+    }
+
+    @Test
+    void substringStatementsRequireEveryTokenWhateverTheQueryLength() {
+        List<NewsArticle> articles = repository.findAll();
+
+        for (String query : List.of("market", "India market", "market in India", "Stock market India")) {
+            List<String> tokens = ArticleSpecifications.searchTokens(query.toLowerCase(Locale.ENGLISH));
+            Set<UUID> expected = articles.stream()
+                .filter(article -> tokens.stream().allMatch(token -> contains(article, token)))
+                .map(NewsArticle::getId)
+                .collect(Collectors.toSet());
+
+            Assertions.assertThat(repository.searchSubstring(ArticleFilter.none(), query, 2_000))
+                .as(query)
+                .extracting(scored -> scored.article().getId())
+                .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static boolean contains(NewsArticle article, String token) {
+        return article.getTitle().toLowerCase(Locale.ENGLISH).contains(token)
+            || (article.getDescription() != null && article.getDescription().toLowerCase(Locale.ENGLISH).contains(token));
+    }
+
+    /**
+     * Tags each candidate with the first of {@code strategies} that returned it, the way retrieval merges branches.
+     */
+    private static List<RetrievedArticle> claimedBy(Map<String, List<ScoredArticle>> candidates, String... strategies) {
+        Map<UUID, RetrievedArticle> claimed = new LinkedHashMap<>();
+        for (String strategy : strategies) {
+            for (ScoredArticle row : candidates.getOrDefault(strategy, List.of())) {
+                claimed.putIfAbsent(row.article().getId(), new RetrievedArticle(row.article(), strategy, row.score()));
+            }
+        }
+        return List.copyOf(claimed.values());
+    }
+
+    private static List<RetrievedArticle> claimed(List<ScoredArticle> scored) {
+        return scored.stream().map(row -> new RetrievedArticle(row.article(), "category", row.score())).toList();
+    }
+
+    private static List<UUID> ids(List<ArticleScore> scores) {
+        return scores.stream().map(score -> score.article().getId()).toList();
+    }
+
+    private static List<Tuple> rows(List<ScoredArticle> scored) {
+        return scored.stream().map(row -> row(row.article().getId(), row.score())).toList();
+    }
+
+    /**
+     * Scores to six places: the union widens the full-text rank from {@code real}, which a lone statement returns as
+     * is.
+     */
+    private static Tuple row(UUID id, double score) {
+        return Tuple.tuple(id, Math.round(score * 1e6) / 1e6);
+    }
+}
@@ -0,0 +1,175 @@
+package com.contextual.news;
+
+import com.contextual.news.api.dto.NewsQueryRequest;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.llm.model.QueryIntent;
+import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.retrieval.ArticleHydrator;
+import com.contextual.news.service.retrieval.ArticleRetrievalStrategy;
+import com.contextual.news.service.retrieval.RetrievalContext;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Captures the SQL every retrieval strategy generates against the seeded data set and fails when its plan reads a
+ * table sequentially. Plans are taken with sequential scans disabled, so a seq scan only shows up when no index can
+ * serve the query at all, independently of how small the seeded table is.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanRegressionTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.4-alpine")
+        .withDatabaseName("contextual_news")
+        .withUsername("contextual_news")
+        .withPassword("contextual_news");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.llm.enabled", () -> false);
+        registry.add("app.data.bootstrap-enabled", () -> true);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+            () -> CapturingInspector.class.getName());
+    }
+
+    @Autowired
+    private List<ArticleRetrievalStrategy> strategies;
+
+    @Autowired
+    private ArticleHydrator hydrator;
+
+    @Test
+    @Transactional(readOnly = true)
+    void everyStrategyQueryIsServedByAnIndex() throws SQLException {
+        Map<String, String> statements = new LinkedHashMap<>();
+        for (Map.Entry<String, RetrievalContext> shape : shapes().entrySet()) {
+            for (ArticleRetrievalStrategy strategy : strategies) {
+                if (!strategy.supports(shape.getValue())) {
+                    continue;
+                }
+                CapturingInspector.STATEMENTS.clear();
+                List<RetrievedArticle> retrieved = strategy.retrieve(shape.getValue(), 30);
+                hydrator.hydrate(retrieved.stream().map(RetrievedArticle::article).toList());
+                int index = 0;
+                for (String sql : CapturingInspector.STATEMENTS) {
+                    statements.put(shape.getKey() + "/" + strategy.strategyName() + "#" + index++, sql);
+                }
+            }
+        }
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(statements).isNotEmpty();
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl() + "&preferQueryMode=simple",
+                postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+            statement.execute("SET enable_seqscan = off");
+            for (Map.Entry<String, String> entry : statements.entrySet()) {
+                String plan = explain(statement, entry.getValue());
+                softly.assertThat(plan).as("plan of %s:%n%s", entry.getKey(), entry.getValue())
+                    .doesNotContain("Seq Scan");
+            }
+        }
+        softly.assertAll();
+    }
+
+    private static Map<String, RetrievalContext> shapes() {
+        Map<String, RetrievalContext> shapes = new LinkedHashMap<>();
+        shapes.put("category", context("category:technology", EnumSet.of(QueryIntent.CATEGORY), null,
+            new ParsedQuery.Filters("technology", null, null, null, null, null, null, null), null));
+        // the recency window's lower bound, as ArticleRetrievalService adds it
+        shapes.put("recent-category", context("category:technology", EnumSet.of(QueryIntent.CATEGORY), null,
+            new ParsedQuery.Filters("technology", null, null, null, null, null,
+                OffsetDateTime.parse("2025-03-20T00:00:00Z"), null), null));
+        shapes.put("source", context("source:Reuters", EnumSet.of(QueryIntent.SOURCE), null,
+            new ParsedQuery.Filters(null, "Reuters", null, null, null, null, null, null), null));
+        shapes.put("score", context("score:0.8", EnumSet.of(QueryIntent.SCORE), null,
+            new ParsedQuery.Filters(null, null, 0.8, null, null, null, null, null), null));
+        shapes.put("search", context("election results", EnumSet.of(QueryIntent.SEARCH), null,
+            ParsedQuery.Filters.empty(), "election results"));
+        shapes.put("nearby", context("news near Mumbai", EnumSet.of(QueryIntent.NEARBY),
+            new NewsQueryRequest.Location(19.07, 72.87),
+            new ParsedQuery.Filters(null, null, null, 50.0, 19.07, 72.87, null, null), null));
+        return shapes;
+    }
+
+    private static RetrievalContext context(String query, EnumSet<QueryIntent> intents,
+                                            NewsQueryRequest.Location location, ParsedQuery.Filters filters,
+                                            String searchQuery) {
+        NewsQueryRequest request = new NewsQueryRequest(query, location, 10, filters.radiusKm(), null);
+        return new RetrievalContext(request, ParsedQuery.create(List.of(), List.of(), intents, filters, searchQuery, true));
+    }
+
+    private static String explain(Statement statement, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberPlaceholders(sql))) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * JDBC {@code ?} placeholders become {@code $n}, which a generic plan accepts without values.
+     */
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")
+                || sql.stripLeading().startsWith("(")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
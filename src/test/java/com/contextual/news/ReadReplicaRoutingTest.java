@@ -0,0 +1,79 @@
+package com.contextual.news;
+
+import com.contextual.news.config.ReplicaRoutingDataSource;
+import com.contextual.news.service.ingest.NewsDataLoader;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Two independent PostgreSQL instances stand in for a primary and its replica; telling them apart by database name
+ * shows where each transaction was routed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingTest {
+
+    @Container
+    static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16.4-alpine")
+        .withDatabaseName("contextual_news")
+        .withUsername("contextual_news")
+        .withPassword("contextual_news");
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16.4-alpine")
+        .withDatabaseName("contextual_news_replica")
+        .withUsername("contextual_news")
+        .withPassword("contextual_news");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.datasource.replicas[0].url", replica::getJdbcUrl);
+    }
+
+    @MockitoBean
+    private NewsDataLoader newsDataLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaUntilItIsUnreachable() {
+        replicaDataSource.checkReplicas();
+
+        Assertions.assertThat(currentDatabase(true)).isEqualTo("contextual_news_replica");
+        Assertions.assertThat(currentDatabase(false)).isEqualTo("contextual_news");
+
+        replica.stop();
+        replicaDataSource.checkReplicas();
+        Assertions.assertThat(currentDatabase(true)).isEqualTo("contextual_news");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
@@ -0,0 +1,53 @@
+package com.contextual.news.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+class AppPropertiesTest {
+
+    @Test
+    void bindsTheRetrievalSettings() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+            "app.retrieval.mode", "sequential",
+            "app.retrieval.max-concurrency", "3",
+            "app.retrieval.queue-capacity", "0",
+            "app.retrieval.strategy-timeout", "PT1S",
+            "app.retrieval.strategy-timeouts.search", "PT5S")));
+
+        AppProperties properties = binder.bindOrCreate("app", Bindable.ofInstance(new AppProperties()));
+
+        AppProperties.RetrievalProperties retrieval = properties.retrieval();
+        Assertions.assertThat(retrieval.getMode()).isEqualTo(AppProperties.RetrievalProperties.ExecutionMode.SEQUENTIAL);
+        Assertions.assertThat(retrieval.getMaxConcurrency()).isEqualTo(3);
+        Assertions.assertThat(retrieval.getQueueCapacity()).isZero();
+        Assertions.assertThat(retrieval.timeoutFor("category")).isEqualTo(Duration.ofSeconds(1));
+        Assertions.assertThat(retrieval.timeoutFor("search")).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void bindsTheGroupsThatPredateTheRetrievalSettings() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+            "app.data.bootstrap-enabled", "false",
+            "app.llm.provider", "openai",
+            "app.llm.enabled", "false",
+            "app.llm.request-timeout", "PT4S",
+            "app.enrichment.top-n", "3",
+            "app.ranking.recency-weight", "0.4",
+            "app.search.engine", "like")));
+
+        AppProperties properties = binder.bindOrCreate("app", Bindable.ofInstance(new AppProperties()));
+
+        Assertions.assertThat(properties.data().isBootstrapEnabled()).isFalse();
+        Assertions.assertThat(properties.llm().getProvider()).isEqualTo("openai");
+        Assertions.assertThat(properties.llm().isEnabled()).isFalse();
+        Assertions.assertThat(properties.llm().getRequestTimeout()).isEqualTo(Duration.ofSeconds(4));
+        Assertions.assertThat(properties.enrichment().getTopN()).isEqualTo(3);
+        Assertions.assertThat(properties.ranking().getRecencyWeight()).isEqualTo(0.4);
+        Assertions.assertThat(properties.search().getEngine()).isEqualTo(AppProperties.SearchProperties.Engine.LIKE);
+    }
+}
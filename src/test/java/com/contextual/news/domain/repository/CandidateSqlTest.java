@@ -0,0 +1,103 @@
+package com.contextual.news.domain.repository;
+
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.RankingOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StringUtils;
+
+class CandidateSqlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CandidateSql candidateSql = new CandidateSql(registry);
+
+    @Test
+    void statementsOfOneShapeShareTheirTextAndDifferInParameters() {
+        CandidateSql.Statement business = candidateSql.relevance(ArticleFilter.none().withCategory("Business"), 10);
+        CandidateSql.Statement technology = candidateSql.relevance(ArticleFilter.none().withCategory("technology"), 25);
+        CandidateSql.Statement reuters = candidateSql.relevance(ArticleFilter.none().withSource("Reuters"), 10);
+        CandidateSql.Statement apple = candidateSql.substring(ArticleFilter.none(), "apple", 10);
+        CandidateSql.Statement earnings = candidateSql.substring(ArticleFilter.none(), "Apple Tesla earnings", 10);
+
+        Assertions.assertThat(technology.sql()).isEqualTo(business.sql());
+        Assertions.assertThat(business.parameters()).containsEntry("category", "business").containsEntry("limit", 10);
+        Assertions.assertThat(technology.parameters()).containsEntry("category", "technology")
+            .containsEntry("limit", 25);
+        Assertions.assertThat(reuters.sql()).isNotEqualTo(business.sql());
+        // the tokens are one bound array, so a longer query does not change the text
+        Assertions.assertThat(earnings.sql()).isEqualTo(apple.sql()).contains("CAST(:tokenPatterns AS text[])");
+        Assertions.assertThat(earnings.parameters())
+            .containsEntry("leadToken", "%earnings%")
+            .containsEntry("tokenPatterns", new String[] {"%apple%", "%tesla%", "%earnings%"});
+
+        Assertions.assertThat(registry.get("news.retrieval.statement.cache").tag("result", "hit").functionCounter()
+            .count()).isEqualTo(2.0);
+        Assertions.assertThat(registry.get("news.retrieval.statement.cache").tag("result", "miss").functionCounter()
+            .count()).isEqualTo(3.0);
+        Assertions.assertThat(registry.get("news.retrieval.statement.cache.hit.ratio").gauge().value())
+            .isEqualTo(0.4);
+        Assertions.assertThat(registry.get("news.retrieval.statement.cache.size").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void combinedStatementsPrefixEveryBranchsParameters() {
+        List<CandidateBranch> branches = List.of(
+            CandidateBranch.byRelevance("category", ArticleFilter.none().withCategory("business"), 10),
+            CandidateBranch.byRelevance("source", ArticleFilter.none().withCategory("sports"), 20));
+
+        CandidateSql.Statement combined = candidateSql.combined(branches);
+
+        Assertions.assertThat(combined.sql()).contains(" UNION ALL ");
+        Assertions.assertThat(combined.parameters())
+            .containsEntry("b0_category", "business").containsEntry("b0_limit", 10).containsEntry("b0_strategy", "category")
+            .containsEntry("b1_category", "sports").containsEntry("b1_limit", 20).containsEntry("b1_strategy", "source");
+        Assertions.assertThat(candidateSql.combined(List.of(branches.get(1), branches.get(0))).sql())
+            .isEqualTo(combined.sql());
+    }
+
+    @Test
+    void fullTextBranchesRetryWithAnyLexemeInTheSameStatement() {
+        RankingOrder bounded = new RankingOrder(0.35, 0.25, 0.30, 0.10, 7, OffsetDateTime.parse("2025-03-27T00:00:00Z"),
+            List.of("election", "results"), null, null, null, 0.5);
+
+        CandidateSql.Statement statement = candidateSql.branch(CandidateBranch.fullText("search",
+            ArticleFilter.none().withCategory("politics"), "election results", 10).withRanking(bounded));
+
+        Assertions.assertThat(statement.sql()).contains(" UNION ALL ").contains(" NOT EXISTS (");
+        // the match, the retry and the retry's guard all apply the filter and the cursor bound
+        Assertions.assertThat(StringUtils.countOccurrencesOf(statement.sql(), ":category")).isEqualTo(3);
+        Assertions.assertThat(StringUtils.countOccurrencesOf(statement.sql(), "<= :maximumScore")).isEqualTo(3);
+        Assertions.assertThat(statement.sql()).contains("websearch_to_tsquery('english', :anyTerms)")
+            .contains("CAST(:tokens AS text[])");
+        Assertions.assertThat(statement.parameters()).containsEntry("query", "election results")
+            .containsEntry("anyTerms", "election or results")
+            .containsEntry("tokens", new String[] {"election", "results"})
+            .containsEntry("maximumScore", 0.5);
+        Assertions.assertThat(candidateSql.fullText(ArticleFilter.none(), "election results", true, 10).sql())
+            .doesNotContain("UNION ALL");
+    }
+
+    @Test
+    void substringPatternsMatchWildcardsLiterally() {
+        CandidateSql.Statement statement = candidateSql.substring(ArticleFilter.none(), "50% off_sale", 10);
+
+        Assertions.assertThat(statement.parameters())
+            .containsEntry("phrase", "%50\\% off\\_sale%")
+            .containsEntry("tokenPatterns", new String[] {"%50\\%%", "%off\\_sale%"});
+    }
+
+    @Test
+    void anyTermQueriesKeepWebSearchOperatorsOutOfTheDisjunction() {
+        CandidateSql.Statement statement = candidateSql.fullText(ArticleFilter.none(),
+            " \"rate cut\" -fed OR  inflation ", false, 10);
+
+        Assertions.assertThat(statement.parameters()).containsEntry("query", "rate or cut or fed or inflation");
+        // the match-all statement binds the same names, so Hibernate's plan cache cannot mix the two up
+        Assertions.assertThat(candidateSql.fullText(ArticleFilter.none(), "rate cut", true, 10).parameters().keySet())
+            .isEqualTo(statement.parameters().keySet());
+    }
+}
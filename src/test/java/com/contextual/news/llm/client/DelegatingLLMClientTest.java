@@ -0,0 +1,122 @@
+package com.contextual.news.llm.client;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.llm.model.ArticleEnrichment;
+import com.contextual.news.service.dto.EnrichmentRequest;
+import com.contextual.news.service.model.ArticleScore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class DelegatingLLMClientTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<EnrichmentRequest> requests = IntStream.range(0, 4)
+        .mapToObj(i -> new NewsArticle(UUID.randomUUID(), "Markets rally " + i, "Stocks rose on Monday.", null,
+            OffsetDateTime.parse("2025-03-20T00:00:00Z"), "Reuters", 0.5, 0.0, 0.0, Set.of()))
+        .map(article -> new EnrichmentRequest(article, "markets", null, null,
+            new ArticleScore(article, 0.5, null, "search", 0.5, 0.0, 0.0, 0.0)))
+        .toList();
+
+    @Test
+    void batchEntriesThatAreMissingOrMalformedFallBackOneByOne() {
+        // 1 answered (twice, the first answer counts), 2 with objects for entities, 3 only under an index out of
+        // range or not a number, 4 empty
+        DelegatingLLMClient client = client("""
+            {"enrichments": [
+              {"index": 1, "summary": "Stocks rose.", "key_entities": ["Reuters"], "why_relevant": "markets"},
+              {"index": 1, "summary": "Answered again."},
+              {"index": 2, "summary": "Stocks rose.", "key_entities": [{"name": "Reuters"}]},
+              {"index": 5, "summary": "No such article."},
+              {"index": 0, "summary": "No such article."},
+              {"index": "three", "summary": "Not an index."},
+              {"summary": "No index at all."},
+              {"index": 4, "summary": "", "key_entities": []}
+            ]}
+            """);
+
+        Map<UUID, ArticleEnrichment> enrichments = client.generateEnrichments(requests);
+
+        Assertions.assertThat(enrichments.keySet()).containsExactlyElementsOf(ids());
+        Assertions.assertThat(enrichments.get(id(0)))
+            .isEqualTo(new ArticleEnrichment("Stocks rose.", List.of("Reuters"), "markets"));
+        RuleBasedLLMClient fallback = new RuleBasedLLMClient();
+        for (int i = 1; i < 4; i++) {
+            Assertions.assertThat(enrichments.get(id(i)))
+                .isEqualTo(fallback.generateEnrichment(requests.get(i)));
+        }
+        // only the answered article is cached; the others are asked about again, in one call
+        Assertions.assertThat(cacheManager.getCache("article-enrichment").get(id(0), ArticleEnrichment.class))
+            .isEqualTo(enrichments.get(id(0)));
+        Assertions.assertThat(ids().subList(1, 4)).allSatisfy(id ->
+            Assertions.assertThat(cacheManager.getCache("article-enrichment").get(id)).isNull());
+        Assertions.assertThat(client.generateEnrichments(requests).get(id(0))).isEqualTo(enrichments.get(id(0)));
+        Assertions.assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void anAnswerWithoutAnEnrichmentsArrayFallsBackForEveryArticle() {
+        for (String answer : List.of("Sorry, I cannot help with that.", "{\"summary\": \"One for all.\"}")) {
+            DelegatingLLMClient client = client(answer);
+
+            Map<UUID, ArticleEnrichment> enrichments = client.generateEnrichments(requests);
+
+            RuleBasedLLMClient fallback = new RuleBasedLLMClient();
+            Assertions.assertThat(enrichments.keySet()).containsExactlyElementsOf(ids());
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertThat(enrichments.get(id(i))).isEqualTo(fallback.generateEnrichment(requests.get(i)));
+                Assertions.assertThat(cacheManager.getCache("article-enrichment").get(id(i))).isNull();
+            }
+        }
+    }
+
+    /**
+     * A client whose Ollama endpoint answers every chat with {@code content}.
+     */
+    private DelegatingLLMClient client(String content) {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                String body = MAPPER.createObjectNode()
+                    .set("message", MAPPER.createObjectNode().put("content", content))
+                    .toString();
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+            })
+            .build();
+        AppProperties properties = new AppProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new DelegatingLLMClient(properties, webClient, MAPPER, new RuleBasedLLMClient(), cacheManager,
+            new LlmCircuitBreaker(properties, Clock.systemUTC(), registry), registry);
+    }
+
+    private List<UUID> ids() {
+        return requests.stream().map(request -> request.article().getId()).toList();
+    }
+
+    private UUID id(int index) {
+        return requests.get(index).article().getId();
+    }
+}
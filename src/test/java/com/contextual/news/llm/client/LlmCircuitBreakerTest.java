@@ -0,0 +1,110 @@
+package com.contextual.news.llm.client;
+
+import com.contextual.news.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LlmCircuitBreakerTest {
+
+    private static final String OPERATION = "query-understanding";
+
+    @Test
+    void opensOnFailuresAndClosesAfterSuccessfulProbes() {
+        MutableClock clock = new MutableClock();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new AppProperties(), clock, registry);
+
+        for (int i = 0; i < 10; i++) {
+            LlmCircuitBreaker.Permit permit = breaker.acquire(OPERATION);
+            if (i % 2 == 0) {
+                permit.failed(Duration.ofSeconds(10));
+            } else {
+                permit.succeeded(Duration.ofMillis(200));
+            }
+        }
+        Assertions.assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        Assertions.assertThatThrownBy(() -> breaker.acquire(OPERATION))
+            .isInstanceOf(LlmCircuitBreaker.CallNotPermittedException.class);
+
+        clock.advance(Duration.ofSeconds(30));
+        LlmCircuitBreaker.Permit[] probes = new LlmCircuitBreaker.Permit[3];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = breaker.acquire(OPERATION);
+            Assertions.assertThat(probes[i].timeout()).isEqualTo(Duration.ofSeconds(10));
+        }
+        Assertions.assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        Assertions.assertThatThrownBy(() -> breaker.acquire(OPERATION))
+            .isInstanceOf(LlmCircuitBreaker.CallNotPermittedException.class);
+        for (LlmCircuitBreaker.Permit probe : probes) {
+            probe.succeeded(Duration.ofMillis(300));
+        }
+
+        Assertions.assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        Assertions.assertThat(breaker.snapshot().transitions())
+            .extracting(LlmCircuitBreaker.Transition::to)
+            .containsExactly(LlmCircuitBreaker.State.OPEN, LlmCircuitBreaker.State.HALF_OPEN,
+                LlmCircuitBreaker.State.CLOSED);
+        Assertions.assertThat(registry.get("news.llm.circuit.rejected").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void timeoutFollowsRecentLatency() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new AppProperties(), new MutableClock(),
+            new SimpleMeterRegistry());
+        Assertions.assertThat(breaker.acquire(OPERATION).timeout()).isEqualTo(Duration.ofSeconds(10));
+
+        for (int i = 1; i <= 10; i++) {
+            breaker.acquire(OPERATION).succeeded(Duration.ofMillis(100L * i));
+        }
+        // 99th percentile of 100..1000ms is 1000ms, doubled
+        Assertions.assertThat(breaker.acquire(OPERATION).timeout()).isEqualTo(Duration.ofSeconds(2));
+        Assertions.assertThat(breaker.acquire("article-enrichment").timeout()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void batchedEnrichmentLearnsItsOwnTimeout() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new AppProperties(), new MutableClock(),
+            new SimpleMeterRegistry());
+        String batch = DelegatingLLMClient.BATCH_ENRICHMENT_OPERATION;
+        for (int i = 0; i < 30; i++) {
+            breaker.acquire("article-enrichment").succeeded(Duration.ofMillis(800));
+            if (i % 3 == 0) {
+                breaker.acquire(batch).succeeded(Duration.ofMillis(2500));
+            }
+        }
+
+        Assertions.assertThat(breaker.acquire("article-enrichment").timeout()).isEqualTo(Duration.ofMillis(1600));
+        Assertions.assertThat(breaker.acquire(batch).timeout()).isEqualTo(Duration.ofSeconds(5));
+        Assertions.assertThat(breaker.state()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
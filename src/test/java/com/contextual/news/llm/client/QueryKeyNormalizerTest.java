@@ -0,0 +1,46 @@
+package com.contextual.news.llm.client;
+
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.llm.model.QueryIntent;
+import com.contextual.news.service.dto.QueryUnderstandingContext;
+import com.contextual.news.service.util.GeoBucketer;
+import java.util.EnumSet;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QueryKeyNormalizerTest {
+
+    private final QueryKeyNormalizer normalizer = new QueryKeyNormalizer(new GeoBucketer(0.05));
+
+    @Test
+    void sharesKeysAcrossCaseWhitespaceAndNearbyFixes() {
+        String key = normalizer.key(new QueryUnderstandingContext("Tech news  near me", 37.4211, -122.0841, null, null));
+
+        Assertions.assertThat(normalizer.key(new QueryUnderstandingContext(" tech NEWS near\tme ", 37.4187, -122.0803,
+            null, null))).isEqualTo(key);
+        Assertions.assertThat(normalizer.key(new QueryUnderstandingContext("tech news near me", 37.7749, -122.4194,
+            null, null))).isNotEqualTo(key);
+        Assertions.assertThat(normalizer.key(new QueryUnderstandingContext("tech news near me", 37.4211, -122.0841,
+            25.0, null))).isNotEqualTo(key);
+    }
+
+    @Test
+    void rebindsOnlyLocationsFromTheCallersCell() {
+        QueryUnderstandingContext caller = new QueryUnderstandingContext("tech news near me", 37.4187, -122.0803,
+            null, null);
+
+        ParsedQuery echoed = parsedAt(37.4211, -122.0841);
+        Assertions.assertThat(normalizer.rebind(echoed, caller).filters())
+            .extracting(ParsedQuery.Filters::latitude, ParsedQuery.Filters::longitude)
+            .containsExactly(37.4187, -122.0803);
+
+        ParsedQuery named = parsedAt(37.7749, -122.4194);
+        Assertions.assertThat(normalizer.rebind(named, caller)).isSameAs(named);
+    }
+
+    private static ParsedQuery parsedAt(double latitude, double longitude) {
+        return ParsedQuery.create(List.of(), List.of(), EnumSet.of(QueryIntent.NEARBY),
+            new ParsedQuery.Filters(null, null, null, 10.0, latitude, longitude, null, null), "tech news", false);
+    }
+}
@@ -0,0 +1,61 @@
+package com.contextual.news.llm.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneCallAndItsFailure() throws Exception {
+        Counter coalesced = new SimpleMeterRegistry().counter("coalesced");
+        SingleFlight<String, String> flights = new SingleFlight<>(coalesced);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> flights.execute("query", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    throw new IllegalStateException("LLM call failed");
+                }), callers));
+            }
+            while (coalesced.count() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (CompletableFuture<String> result : results) {
+                Assertions.assertThatThrownBy(result::join)
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("LLM call failed");
+            }
+            Assertions.assertThat(calls).hasValue(1);
+            Assertions.assertThat(coalesced.count()).isEqualTo(7.0);
+
+            // the failure is not remembered: the next caller runs its own call
+            Assertions.assertThat(flights.execute("query", () -> "parsed")).isEqualTo("parsed");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.contextual.news.service;
+
+import com.contextual.news.api.dto.NewsQueryRequest;
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.ArticleCandidate;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleProjection;
+import com.contextual.news.domain.query.RankingOrder;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
+import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.retrieval.ArticleHydrator;
+import com.contextual.news.service.retrieval.RetrievalContext;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class ArticleRankingServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-20T00:00:00Z");
+
+    @Test
+    void ranksProjectionsAndHydratesOnlyThePage() {
+        // the stored token digest stands in for the text the projections do not carry
+        ArticleProjection matching = projection(0.5, "markets", "rally");
+        ArticleProjection relevant = projection(0.9);
+        ArticleProjection partlyMatching = projection(0.8, "markets");
+        ArticleProjection offTopic = projection(0.1, "weather");
+        ArticleProjection weak = projection(0.2);
+        // deleted between the two phases
+        UUID deleted = partlyMatching.getId();
+        ArticleHydrator hydrator = Mockito.mock(ArticleHydrator.class);
+        Mockito.when(hydrator.hydrate(Mockito.anyList())).thenAnswer(invocation -> {
+            List<ArticleCandidate> candidates = invocation.getArgument(0);
+            return candidates.stream()
+                .filter(candidate -> !candidate.getId().equals(deleted))
+                .collect(Collectors.toMap(ArticleCandidate::getId, ArticleRankingServiceTest::article));
+        });
+        ArticleRankingService ranking = new ArticleRankingService(new AppProperties(),
+            Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), hydrator);
+        NewsQueryRequest request = new NewsQueryRequest("markets rally", null, 3, null, null);
+        RetrievalContext context = new RetrievalContext(request, ParsedQuery.fallback("markets rally"), NOW, null);
+
+        List<ArticleScore> scores = ranking.scoreArticles(
+            List.of(weak, offTopic, relevant, partlyMatching, matching).stream()
+                .map(projection -> new RetrievedArticle(projection, "search", 1.0))
+                .toList(),
+            context, 3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ArticleCandidate>> hydrated = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(hydrator).hydrate(hydrated.capture());
+        Assertions.assertThat(hydrated.getValue()).containsExactly(matching, partlyMatching, relevant);
+        Assertions.assertThat(scores).extracting(score -> score.article().getId())
+            .containsExactly(matching.getId(), relevant.getId());
+        Assertions.assertThat(scores).extracting(ArticleScore::semanticContribution).containsExactly(1.0, 0.0);
+    }
+
+    @Test
+    void rankingOrderBoundsContinuationPagesJustAboveTheCursorScore() {
+        ArticleRankingService ranking = new ArticleRankingService(new AppProperties(),
+            Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), Mockito.mock(ArticleHydrator.class));
+        NewsQueryRequest request = new NewsQueryRequest("Rally in markets", new NewsQueryRequest.Location(19.07, 72.87),
+            10, 25.0, null);
+        ArticleScore last = new ArticleScore(article(projection(0.5)), 0.42, null, "category", 0.5, 0.0, 0.0, 0.0);
+        RetrievalContext first = new RetrievalContext(request, ParsedQuery.fallback("Rally in markets"), NOW, null);
+        RetrievalContext next = new RetrievalContext(request, first.parsedQuery(), NOW,
+            PageCursor.after(NOW, last, "markets"));
+
+        RankingOrder firstOrder = ranking.rankingOrder(first);
+        RankingOrder nextOrder = ranking.rankingOrder(next);
+
+        Assertions.assertThat(firstOrder.maximumScore()).isNull();
+        Assertions.assertThat(nextOrder.maximumScore()).isCloseTo(0.42, Assertions.within(1e-6))
+            .isGreaterThan(0.42);
+        Assertions.assertThat(firstOrder.queryTokens()).isSorted().contains("markets", "rally");
+        Assertions.assertThat(firstOrder.now()).isEqualTo(NOW);
+        Assertions.assertThat(List.of(firstOrder.relevanceWeight(), firstOrder.recencyWeight(),
+            firstOrder.semanticWeight(), firstOrder.proximityWeight())).containsExactly(0.35, 0.25, 0.30, 0.10);
+        // every candidate of a located user earns proximity, whichever strategy retrieves it
+        Assertions.assertThat(List.of(nextOrder.latitude(), nextOrder.longitude(), nextOrder.radiusKm()))
+            .containsExactly(19.07, 72.87, 25.0);
+        Assertions.assertThat(ranking.rankingOrder(new RetrievalContext(
+            new NewsQueryRequest("Rally in markets", null, 10, 25.0, null), first.parsedQuery(), NOW, null))
+            .hasProximity()).isFalse();
+    }
+
+    private static ArticleProjection projection(double relevance, String... tokenDigest) {
+        return new ArticleProjection(UUID.randomUUID(), relevance, NOW, 0.0, 0.0, tokenDigest);
+    }
+
+    private static NewsArticle article(ArticleCandidate candidate) {
+        return new NewsArticle(candidate.getId(), "title", null, null, candidate.getPublicationDate(), "Reuters",
+            candidate.getRelevanceScore(), candidate.getLatitude(), candidate.getLongitude(), Set.of());
+    }
+}
@@ -0,0 +1,135 @@
+package com.contextual.news.service;
+
+import com.contextual.news.config.AppConfiguration;
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.llm.client.LLMClient;
+import com.contextual.news.llm.client.RuleBasedLLMClient;
+import com.contextual.news.llm.model.ArticleEnrichment;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.dto.EnrichmentRequest;
+import com.contextual.news.service.dto.QueryUnderstandingContext;
+import com.contextual.news.service.model.ArticleScore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class ArticleResponseAssemblerTest {
+
+    private static final ArticleEnrichment ENRICHED = new ArticleEnrichment("from the model", List.of(), "asked for");
+
+    @Test
+    void articlesWhoseEnrichmentMissesTheDeadlineGetTheRuleBasedOne() {
+        // batches of two: answered, answered in part, too slow, failed
+        List<ArticleScore> scores = scores("fast", "fast", "partial", "omitted", "slow", "slow", "failing", "failing");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        long started = System.nanoTime();
+        Map<NewsArticle, ArticleEnrichment> enrichment = enrich(scores, registry, properties -> {
+            properties.setTopN(8);
+            properties.setBatchSize(2);
+            properties.setParallelism(4);
+            properties.setDeadline(Duration.ofMillis(300));
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Assertions.assertThat(scores).extracting(score -> enrichment.get(score.article()) == ENRICHED)
+            .containsExactly(true, true, true, false, false, false, false, false);
+        Assertions.assertThat(scores.subList(3, 8)).allSatisfy(score ->
+            Assertions.assertThat(enrichment.get(score.article()).isEmpty()).isFalse());
+        Assertions.assertThat(registry.get("news.enrichment.fallback").counter().count()).isEqualTo(5.0);
+        // the slow batch takes two seconds; the response does not wait for it
+        Assertions.assertThat(elapsed).isLessThan(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void lanesTheExecutorRejectsLeaveTheirBatchesToTheOthers() {
+        List<ArticleScore> scores = scores("fast", "fast", "fast", "fast", "fast", "fast");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        Map<NewsArticle, ArticleEnrichment> enrichment = enrich(scores, registry, properties -> {
+            properties.setTopN(6);
+            properties.setBatchSize(2);
+            properties.setParallelism(3);
+            properties.setMaxConcurrency(1);
+            properties.setQueueCapacity(0);
+        });
+
+        Assertions.assertThat(scores).allSatisfy(score ->
+            Assertions.assertThat(enrichment.get(score.article())).isSameAs(ENRICHED));
+        Assertions.assertThat(registry.get("news.enrichment.fallback").counter().count()).isZero();
+    }
+
+    private static Map<NewsArticle, ArticleEnrichment> enrich(List<ArticleScore> scores, SimpleMeterRegistry registry,
+                                                              Consumer<AppProperties.EnrichmentProperties> customizer) {
+        AppProperties properties = new AppProperties();
+        customizer.accept(properties.enrichment());
+        ThreadPoolTaskExecutor executor = new AppConfiguration().enrichmentExecutor(properties);
+        executor.initialize();
+        try {
+            return new ArticleResponseAssembler(new StubLLMClient(), new RuleBasedLLMClient(), executor, properties,
+                registry).enrichTopArticles(scores, "markets", null, null);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<ArticleScore> scores(String... titles) {
+        return IntStream.range(0, titles.length)
+            .mapToObj(i -> new NewsArticle(UUID.randomUUID(), titles[i], "A description of " + titles[i] + ".", null,
+                OffsetDateTime.parse("2025-03-20T00:00:00Z"), "Reuters", 0.5, 0.0, 0.0, Set.of()))
+            .map(article -> new ArticleScore(article, 0.5, null, "search", 0.5, 0.0, 0.0, 0.0))
+            .toList();
+    }
+
+    /**
+     * Answers by title: {@code slow} after two seconds, {@code failing} with an exception, {@code omitted} not at all.
+     */
+    private static final class StubLLMClient implements LLMClient {
+
+        @Override
+        public ParsedQuery parseQuery(QueryUnderstandingContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ArticleEnrichment generateEnrichment(EnrichmentRequest request) {
+            return generateEnrichments(List.of(request)).get(request.article().getId());
+        }
+
+        @Override
+        public Map<UUID, ArticleEnrichment> generateEnrichments(List<EnrichmentRequest> requests) {
+            Map<UUID, ArticleEnrichment> enrichments = new LinkedHashMap<>();
+            for (EnrichmentRequest request : requests) {
+                switch (request.article().getTitle()) {
+                    case "slow" -> sleep(Duration.ofSeconds(2));
+                    case "failing" -> throw new IllegalStateException("model unavailable");
+                    case "omitted" -> {
+                        continue;
+                    }
+                    default -> { }
+                }
+                enrichments.put(request.article().getId(), ENRICHED);
+            }
+            return enrichments;
+        }
+
+        private static void sleep(Duration duration) {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
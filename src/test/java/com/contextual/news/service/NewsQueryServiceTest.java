@@ -0,0 +1,63 @@
+package com.contextual.news.service;
+
+import com.contextual.news.api.dto.NewsQueryRequest;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.llm.client.LLMClient;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.llm.model.QueryIntent;
+import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
+import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.retrieval.ArticleRetrievalService;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class NewsQueryServiceTest {
+
+    private final LLMClient llmClient = Mockito.mock(LLMClient.class);
+    private final ArticleRetrievalService retrievalService = Mockito.mock(ArticleRetrievalService.class);
+    private final ArticleRankingService rankingService = Mockito.mock(ArticleRankingService.class);
+    private final ArticleResponseAssembler responseAssembler = Mockito.mock(ArticleResponseAssembler.class);
+    private final NewsQueryService service = new NewsQueryService(llmClient, retrievalService, rankingService,
+        responseAssembler, Clock.fixed(Instant.parse("2025-03-20T00:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void continuationPagesMustParseToTheQueryTheCursorWasIssuedFor() {
+        NewsArticle article = new NewsArticle(UUID.randomUUID(), "title", null, null,
+            OffsetDateTime.parse("2025-03-19T00:00:00Z"), "Reuters", 0.5, 0.0, 0.0, Set.of());
+        Mockito.when(retrievalService.retrieveArticles(Mockito.any(), Mockito.anyInt()))
+            .thenReturn(List.of(new RetrievedArticle(article, "category", 1.0)));
+        Mockito.when(rankingService.scoreArticles(Mockito.anyList(), Mockito.any(), Mockito.anyInt()))
+            .thenReturn(List.of(new ArticleScore(article, 0.7, null, "category", 0.7, 0.0, 0.0, 0.0)));
+        Mockito.when(responseAssembler.enrichTopArticles(Mockito.anyList(), Mockito.any(), Mockito.any(),
+            Mockito.any())).thenReturn(Map.of());
+        // the entities come back in another order on the second page, and in another category on the third
+        Mockito.when(llmClient.parseQuery(Mockito.any()))
+            .thenReturn(parsed("business", "Apple", "Tesla"))
+            .thenReturn(parsed("business", "Tesla", "Apple"))
+            .thenReturn(parsed("technology", "Apple", "Tesla"));
+
+        String cursor = service.query(new NewsQueryRequest("apple and tesla", null, 1, null, null)).nextCursor();
+        NewsQueryRequest next = new NewsQueryRequest("apple and tesla", null, 1, null, null, cursor);
+
+        Assertions.assertThat(service.query(next).nextCursor()).isNotNull();
+        Assertions.assertThatThrownBy(() -> service.query(next))
+            .isInstanceOf(PageCursor.InvalidCursorException.class)
+            .hasMessageContaining("different query");
+    }
+
+    private static ParsedQuery parsed(String category, String... entities) {
+        return ParsedQuery.create(List.of(entities), List.of(), EnumSet.of(QueryIntent.CATEGORY),
+            new ParsedQuery.Filters(category, null, null, null, null, null, null, null), "apple tesla", false);
+    }
+}
@@ -0,0 +1,117 @@
+package com.contextual.news.service.partition;
+
+import com.contextual.news.config.AppProperties;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ArticlePartitionManagerTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-26T10:00:00Z");
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final List<String> statements = new ArrayList<>();
+
+    @Test
+    void ingestedDatesGetOnePartitionPerPeriodWithHalfOpenUtcBounds() {
+        stubDatabase(Set.of(), false);
+
+        manager(AppProperties.PartitioningProperties.Granularity.WEEK).ensurePartitions(Arrays.asList(
+            OffsetDateTime.parse("2025-03-26T23:30:00-05:00"),
+            OffsetDateTime.parse("2025-03-24T00:00:00Z"),
+            null,
+            OffsetDateTime.parse("2025-03-23T23:59:59Z")));
+
+        // the first two fall in the week starting Monday 2025-03-24 once moved to UTC, the last one in the week before
+        Assertions.assertThat(statements).containsExactly(
+            "CREATE TABLE news_article_p20250317 PARTITION OF news_article"
+                + " FOR VALUES FROM ('2025-03-17T00:00:00Z') TO ('2025-03-24T00:00:00Z')",
+            "CREATE TABLE article_category_p20250317 PARTITION OF article_category"
+                + " FOR VALUES FROM ('2025-03-17T00:00:00Z') TO ('2025-03-24T00:00:00Z')",
+            "CREATE TABLE news_article_p20250324 PARTITION OF news_article"
+                + " FOR VALUES FROM ('2025-03-24T00:00:00Z') TO ('2025-03-31T00:00:00Z')",
+            "CREATE TABLE article_category_p20250324 PARTITION OF article_category"
+                + " FOR VALUES FROM ('2025-03-24T00:00:00Z') TO ('2025-03-31T00:00:00Z')");
+    }
+
+    @Test
+    void maintenancePremakesUpcomingPeriodsAndSkipsExistingOnes() {
+        stubDatabase(Set.of("news_article_p20250301"), false);
+        Mockito.when(jdbcTemplate.queryForList(ArgumentMatchers.contains("news_article_default"),
+                ArgumentMatchers.eq(OffsetDateTime.class), ArgumentMatchers.eq("month")))
+            .thenReturn(List.of(OffsetDateTime.parse("2024-12-01T00:00:00Z")));
+
+        manager(AppProperties.PartitioningProperties.Granularity.MONTH).maintain();
+
+        Assertions.assertThat(statements).filteredOn(sql -> sql.startsWith("CREATE TABLE news_article_"))
+            .containsExactly(
+                "CREATE TABLE news_article_p20241201 PARTITION OF news_article"
+                    + " FOR VALUES FROM ('2024-12-01T00:00:00Z') TO ('2025-01-01T00:00:00Z')",
+                "CREATE TABLE news_article_p20250401 PARTITION OF news_article"
+                    + " FOR VALUES FROM ('2025-04-01T00:00:00Z') TO ('2025-05-01T00:00:00Z')",
+                "CREATE TABLE news_article_p20250501 PARTITION OF news_article"
+                    + " FOR VALUES FROM ('2025-05-01T00:00:00Z') TO ('2025-06-01T00:00:00Z')");
+    }
+
+    @Test
+    void rowsHeldByTheDefaultPartitionAreSetAsideRemovedAndWrittenBackThroughTheParent() {
+        stubDatabase(Set.of(), true);
+        String range = "publication_date >= '2025-03-26T00:00:00Z' AND publication_date < '2025-03-27T00:00:00Z'";
+
+        manager(AppProperties.PartitioningProperties.Granularity.DAY).ensurePartitions(List.of(NOW));
+
+        Assertions.assertThat(statements).containsExactly(
+            "CREATE TEMP TABLE partition_move_article ON COMMIT DROP AS SELECT id, title, description, url,"
+                + " publication_date, source_name, relevance_score, latitude, longitude, categories, created_at,"
+                + " updated_at FROM news_article_default WHERE " + range,
+            "CREATE TEMP TABLE partition_move_category ON COMMIT DROP AS SELECT article_id, category,"
+                + " publication_date FROM article_category_default WHERE " + range,
+            "DELETE FROM news_article_default WHERE " + range,
+            "CREATE TABLE news_article_p20250326 PARTITION OF news_article"
+                + " FOR VALUES FROM ('2025-03-26T00:00:00Z') TO ('2025-03-27T00:00:00Z')",
+            "CREATE TABLE article_category_p20250326 PARTITION OF article_category"
+                + " FOR VALUES FROM ('2025-03-26T00:00:00Z') TO ('2025-03-27T00:00:00Z')",
+            "INSERT INTO news_article (id, title, description, url, publication_date, source_name, relevance_score,"
+                + " latitude, longitude, categories, created_at, updated_at) SELECT id, title, description, url,"
+                + " publication_date, source_name, relevance_score, latitude, longitude, categories, created_at,"
+                + " updated_at FROM partition_move_article",
+            "INSERT INTO article_category (article_id, category, publication_date)"
+                + " SELECT article_id, category, publication_date FROM partition_move_category");
+    }
+
+    private ArticlePartitionManager manager(AppProperties.PartitioningProperties.Granularity granularity) {
+        AppProperties properties = new AppProperties();
+        properties.partitioning().setGranularity(granularity);
+        return new ArticlePartitionManager(properties, jdbcTemplate, Mockito.mock(PlatformTransactionManager.class),
+            Clock.fixed(NOW.toInstant(), ZoneOffset.UTC));
+    }
+
+    /**
+     * Records every DDL and DML statement; {@code existing} partitions are reported present, and the default
+     * partition holds rows in the new range when {@code occupied}.
+     */
+    private void stubDatabase(Set<String> existing, boolean occupied) {
+        Mockito.when(jdbcTemplate.queryForObject(ArgumentMatchers.eq("SELECT to_regclass(?) IS NOT NULL"),
+                ArgumentMatchers.eq(Boolean.class), ArgumentMatchers.<Object>any()))
+            .thenAnswer(invocation -> existing.contains(invocation.<String>getArgument(2)));
+        Mockito.when(jdbcTemplate.queryForObject(ArgumentMatchers.startsWith("SELECT EXISTS"),
+                ArgumentMatchers.eq(Boolean.class)))
+            .thenReturn(occupied);
+        Mockito.doAnswer(invocation -> statements.add(invocation.getArgument(0)))
+            .when(jdbcTemplate).execute(ArgumentMatchers.anyString());
+        Mockito.when(jdbcTemplate.update(ArgumentMatchers.anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return 1;
+        });
+    }
+}
@@ -0,0 +1,421 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.api.dto.NewsQueryRequest;
+import com.contextual.news.config.AppConfiguration;
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.ArticleCandidate;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.domain.query.ScoredArticle;
+import com.contextual.news.domain.repository.NewsArticleRepository;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.ArticleRankingService;
+import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.PageCursor;
+import com.contextual.news.service.model.RetrievedArticle;
+import com.contextual.news.service.util.TextTokenizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ArticleRetrievalServiceTest {
+
+    private static final OffsetDateTime LATEST = OffsetDateTime.parse("2025-03-20T00:00:00Z");
+    private static final RetrievalContext CONTEXT = new RetrievalContext(null, ParsedQuery.fallback("markets"));
+    private static final List<NewsArticle> ARTICLES = IntStream.range(0, 12)
+        .mapToObj(i -> dated("title", 0.5, LATEST))
+        .toList();
+
+    @Test
+    void concurrentRetrievalReturnsWhatSequentialRetrievalDoes() {
+        // the later strategies answer first, and overlap the earlier ones
+        List<ArticleRetrievalStrategy> strategies = List.of(
+            strategy("category", 150, ARTICLES.subList(0, 6)),
+            strategy("source", 75, ARTICLES.subList(3, 9)),
+            strategy("score", 0, ARTICLES.subList(6, 12)));
+
+        List<RetrievedArticle> sequential = retrieve(AppProperties.RetrievalProperties.ExecutionMode.SEQUENTIAL,
+            strategies, properties -> { });
+        List<RetrievedArticle> concurrent = retrieve(AppProperties.RetrievalProperties.ExecutionMode.CONCURRENT,
+            strategies, properties -> { });
+
+        Assertions.assertThat(concurrent).isEqualTo(sequential);
+        Assertions.assertThat(concurrent).extracting(RetrievedArticle::strategy)
+            .containsExactly("category", "category", "category", "category", "category", "category",
+                "source", "source", "source", "score", "score", "score");
+    }
+
+    @Test
+    void combinedModeAnswersEveryDatabaseStrategyFromOneStatement() {
+        Map<String, List<NewsArticle>> stored = Map.of(
+            "category", ARTICLES.subList(0, 6),
+            "search", ARTICLES.subList(3, 9));
+        List<ArticleRetrievalStrategy> strategies = List.of(
+            branched("category", limit -> CandidateBranch.byRelevance("category", ArticleFilter.none(), limit)),
+            branched("search", limit -> CandidateBranch.fullText("search", ArticleFilter.none(), "markets", limit)),
+            strategy("index", 0, ARTICLES.subList(6, 12)));
+
+        List<List<CandidateBranch>> sequentialStatements = new ArrayList<>();
+        List<RetrievedArticle> sequential = retrieve(AppProperties.RetrievalProperties.ExecutionMode.SEQUENTIAL,
+            strategies, repository(stored, sequentialStatements));
+        List<List<CandidateBranch>> combinedStatements = new ArrayList<>();
+        List<RetrievedArticle> combined = retrieve(AppProperties.RetrievalProperties.ExecutionMode.COMBINED,
+            strategies, repository(stored, combinedStatements));
+
+        Assertions.assertThat(combined).isEqualTo(sequential);
+        Assertions.assertThat(combined).extracting(RetrievedArticle::strategy)
+            .containsExactly("category", "category", "category", "category", "category", "category",
+                "search", "search", "search", "index", "index", "index");
+        Assertions.assertThat(sequentialStatements).extracting(List::size).containsExactly(1, 1);
+        Assertions.assertThat(combinedStatements).singleElement().asInstanceOf(InstanceOfAssertFactories.LIST)
+            .extracting("strategy").containsExactlyInAnyOrder("category", "search");
+    }
+
+    @Test
+    void strategiesThatTimeOutOrAreRejectedContributeNothing() {
+        List<ArticleRetrievalStrategy> strategies = List.of(
+            strategy("slow", 1_000, ARTICLES.subList(0, 4)),
+            strategy("steady", 300, ARTICLES.subList(4, 8)),
+            strategy("rejected", 0, ARTICLES.subList(8, 12)));
+
+        List<RetrievedArticle> retrieved = retrieve(AppProperties.RetrievalProperties.ExecutionMode.CONCURRENT,
+            strategies, properties -> {
+                // both threads are busy by the time the third strategy is submitted
+                properties.retrieval().setMaxConcurrency(2);
+                properties.retrieval().setQueueCapacity(0);
+                properties.retrieval().getStrategyTimeouts().put("slow", Duration.ofMillis(100));
+            });
+
+        Assertions.assertThat(retrieved).extracting(RetrievedArticle::strategy).containsOnly("steady").hasSize(4);
+    }
+
+    @Test
+    void recencyWindowOnlyAnswersPagesNoOlderArticleCouldOutrank() {
+        NewsArticle archived = dated("markets rally", 1.0, LATEST.minusDays(10));
+        List<NewsArticle> strong = IntStream.range(0, 4)
+            .mapToObj(i -> dated("markets", 1.0, LATEST.minusHours(6L * i)))
+            .toList();
+        List<NewsArticle> weak = IntStream.range(0, 2)
+            .mapToObj(i -> dated("weather", 0.1, LATEST.minusDays(1L + i)))
+            .toList();
+        List<NewsArticle> stored = Stream.of(List.of(archived), strong, weak).flatMap(List::stream).toList();
+
+        List<OffsetDateTime> windowed = new ArrayList<>();
+        List<List<ArticleScore>> pages = pages(stored, "markets", Duration.ofDays(7), windowed);
+        List<List<ArticleScore>> archive = pages(stored, "markets", Duration.ZERO, new ArrayList<>());
+
+        Assertions.assertThat(pages).isEqualTo(archive);
+        // four recent articles outrank anything older, so page 1 is answered from the window alone
+        Assertions.assertThat(pages.get(0)).extracting(ArticleScore::article)
+            .containsExactlyElementsOf(strong.subList(0, 3));
+        // page 2 holds the last of them, then the archived article the window alone would have skipped
+        Assertions.assertThat(pages.get(1)).extracting(ArticleScore::article)
+            .containsExactly(strong.get(3), archived, weak.get(0));
+        Assertions.assertThat(windowed).containsExactly(LATEST.minusDays(7), LATEST.minusDays(7), null);
+    }
+
+    @Test
+    void recencyWindowAnswersRealisticQueriesTheOlderArticlesDigestsCannotMatch() {
+        // none of these matches every query token alone, so a bound taking similarity and relevance at 1.0 would
+        // send every page to the archive
+        List<NewsArticle> recent = List.of(
+            dated("India stock market hits record high", 0.9, LATEST),
+            dated("Stock market in India rallies on bank earnings", 0.8, LATEST.minusHours(6)),
+            dated("Foreign investors return to India stock market", 0.7, LATEST.minusHours(12)),
+            dated("Weak rupee weighs on India stock market", 0.5, LATEST.minusHours(18)));
+        List<NewsArticle> archived = List.of(
+            dated("Stock market slides as India tightens rules", 1.0, LATEST.minusDays(10)),
+            dated("Market update", 0.9, LATEST.minusDays(12)));
+        List<NewsArticle> stored = Stream.concat(recent.stream(), archived.stream()).toList();
+
+        List<OffsetDateTime> windowed = new ArrayList<>();
+        List<List<ArticleScore>> pages = pages(stored, "stock market india", Duration.ofDays(7), windowed);
+        List<List<ArticleScore>> archive = pages(stored, "stock market india", Duration.ZERO, new ArrayList<>());
+
+        Assertions.assertThat(pages).isEqualTo(archive);
+        // an older article shares at most three of its six tokens with the query, so the three best recent ones win
+        Assertions.assertThat(pages.get(0)).extracting(ArticleScore::article)
+            .containsExactlyElementsOf(recent.subList(0, 3));
+        Assertions.assertThat(pages.get(1)).extracting(ArticleScore::article)
+            .containsExactly(archived.get(0), recent.get(3), archived.get(1));
+        Assertions.assertThat(windowed).containsExactly(LATEST.minusDays(7), LATEST.minusDays(7), null);
+    }
+
+    @Test
+    void strategiesWithoutAKeysetBoundAreDeepenedUntilAPagePassesTheCursor() {
+        List<NewsArticle> stored = IntStream.range(0, 9)
+            .mapToObj(i -> dated("markets", 0.9 - i * 0.1, LATEST))
+            .toList();
+        AppProperties properties = new AppProperties();
+        properties.retrieval().setMode(AppProperties.RetrievalProperties.ExecutionMode.SEQUENTIAL);
+        properties.retrieval().setRecencyWindow(Duration.ZERO);
+        properties.retrieval().setFetchMultiplier(1);
+        ArticleRankingService ranking = ranking(properties);
+        List<Integer> depths = new ArrayList<>();
+        // like the in-memory indexes: the best {@code limit} matches, whatever the cursor
+        ArticleRetrievalStrategy index = new ArticleRetrievalStrategy() {
+            @Override
+            public boolean supports(RetrievalContext context) {
+                return true;
+            }
+
+            @Override
+            public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+                depths.add(limit);
+                return stored.stream()
+                    .limit(limit)
+                    .map(article -> new RetrievedArticle(article, strategyName(), 1.0))
+                    .toList();
+            }
+
+            @Override
+            public String strategyName() {
+                return "index";
+            }
+        };
+        ArticleRetrievalService service = service(List.of(index), properties, Runnable::run, null, ranking);
+
+        NewsQueryRequest request = new NewsQueryRequest("markets", null, 3, null, null);
+        List<NewsArticle> paged = new ArrayList<>();
+        PageCursor after = null;
+        for (int page = 0; page < 4; page++) {
+            RetrievalContext context = new RetrievalContext(request, ParsedQuery.fallback("markets"), LATEST, after);
+            List<ArticleScore> scores = ranking.scoreArticles(service.retrieveArticles(context, 3), context, 3);
+            scores.forEach(score -> paged.add(score.article()));
+            after = scores.isEmpty() ? after : PageCursor.after(LATEST, scores.get(scores.size() - 1), "markets");
+        }
+
+        Assertions.assertThat(paged).containsExactlyElementsOf(stored);
+        // the last page finds the index exhausted below the depth asked for, and stops there
+        Assertions.assertThat(depths).containsExactly(3, 3, 6, 3, 6, 12, 3, 6, 12);
+    }
+
+    private static List<RetrievedArticle> retrieve(AppProperties.RetrievalProperties.ExecutionMode mode,
+                                                   List<ArticleRetrievalStrategy> strategies,
+                                                   NewsArticleRepository repository) {
+        AppProperties properties = new AppProperties();
+        properties.retrieval().setMode(mode);
+        properties.retrieval().setRecencyWindow(Duration.ZERO);
+        ArticleStatistics statistics = Mockito.mock(ArticleStatistics.class);
+        Mockito.when(statistics.estimate(Mockito.any())).thenReturn(OptionalLong.empty());
+        return service(strategies, properties, Runnable::run, repository, statistics, null)
+            .retrieveArticles(CONTEXT, 10);
+    }
+
+    /**
+     * A repository holding {@code stored} rows per strategy, in relevance order; {@code statements} collects the
+     * branches of every candidate statement it runs.
+     */
+    private static NewsArticleRepository repository(Map<String, List<NewsArticle>> stored,
+                                                    List<List<CandidateBranch>> statements) {
+        NewsArticleRepository repository = Mockito.mock(NewsArticleRepository.class);
+        Mockito.when(repository.findCandidates(Mockito.anyList())).thenAnswer(invocation -> {
+            List<CandidateBranch> branches = List.copyOf(invocation.getArgument(0));
+            statements.add(branches);
+            Map<String, List<ScoredArticle>> rows = new LinkedHashMap<>();
+            branches.forEach(branch -> rows.put(branch.strategy(), stored.get(branch.strategy()).stream()
+                .limit(branch.limit())
+                .map(article -> new ScoredArticle(article, article.getRelevanceScore()))
+                .toList()));
+            return rows;
+        });
+        return repository;
+    }
+
+    /**
+     * The first two pages of {@code query}, three articles each, retrieved from {@code stored} with the given
+     * recency window; {@code windowed} collects the lower date bound of every retrieval.
+     */
+    private static List<List<ArticleScore>> pages(List<NewsArticle> stored, String query, Duration window,
+                                                  List<OffsetDateTime> windowed) {
+        AppProperties properties = new AppProperties();
+        properties.retrieval().setMode(AppProperties.RetrievalProperties.ExecutionMode.SEQUENTIAL);
+        properties.retrieval().setRecencyWindow(window);
+        ArticleStatistics statistics = Mockito.mock(ArticleStatistics.class);
+        Mockito.when(statistics.recencyWindow()).thenReturn(window.isZero()
+            ? Optional.empty()
+            : Optional.of(recencyWindow(stored, LATEST.minus(window))));
+        ArticleRankingService ranking = ranking(properties);
+        ArticleRetrievalStrategy search = new ArticleRetrievalStrategy() {
+            @Override
+            public boolean supports(RetrievalContext context) {
+                return true;
+            }
+
+            @Override
+            public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+                OffsetDateTime from = context.parsedQuery().filters().dateFrom();
+                windowed.add(from);
+                return stored.stream()
+                    .filter(article -> from == null || !article.getPublicationDate().isBefore(from))
+                    .map(article -> new RetrievedArticle(article, strategyName(), 1.0))
+                    .toList();
+            }
+
+            @Override
+            public String strategyName() {
+                return "search";
+            }
+        };
+        ArticleRetrievalService service = service(List.of(search), properties, Runnable::run, statistics, ranking);
+
+        NewsQueryRequest request = new NewsQueryRequest(query, null, 3, null, null);
+        RetrievalContext first = new RetrievalContext(request, ParsedQuery.fallback(query), LATEST, null);
+        List<ArticleScore> page1 = ranking.scoreArticles(service.retrieveArticles(first, 3), first, 3);
+        RetrievalContext second = new RetrievalContext(request, ParsedQuery.fallback(query), LATEST,
+            PageCursor.after(LATEST, page1.get(page1.size() - 1), query));
+        List<ArticleScore> page2 = ranking.scoreArticles(service.retrieveArticles(second, 3), second, 3);
+        return List.of(page1, page2);
+    }
+
+    /**
+     * What {@link ArticleStatistics#refresh} summarizes of the articles in {@code stored} published before
+     * {@code start}.
+     */
+    private static ArticleStatistics.RecencyWindow recencyWindow(List<NewsArticle> stored, OffsetDateTime start) {
+        Map<String, ArticleStatistics.TokenSummary> tokens = new HashMap<>();
+        double maxRelevance = 0.0;
+        for (NewsArticle article : stored) {
+            if (!article.getPublicationDate().isBefore(start)) {
+                continue;
+            }
+            maxRelevance = Math.max(maxRelevance, article.getRelevanceScore());
+            Set<String> digest = new HashSet<>(TextTokenizer.tokens(article.getTitle()));
+            digest.addAll(TextTokenizer.tokens(article.getDescription()));
+            for (String token : digest) {
+                tokens.merge(token, new ArticleStatistics.TokenSummary(digest.size(), article.getRelevanceScore()),
+                    (a, b) -> new ArticleStatistics.TokenSummary(Math.min(a.minDigestSize(), b.minDigestSize()),
+                        Math.max(a.maxRelevance(), b.maxRelevance())));
+            }
+        }
+        return new ArticleStatistics.RecencyWindow(start, maxRelevance, tokens);
+    }
+
+    private static List<RetrievedArticle> retrieve(AppProperties.RetrievalProperties.ExecutionMode mode,
+                                                   List<ArticleRetrievalStrategy> strategies,
+                                                   Consumer<AppProperties> customizer) {
+        AppProperties properties = new AppProperties();
+        properties.retrieval().setMode(mode);
+        properties.retrieval().setRecencyWindow(Duration.ZERO);
+        customizer.accept(properties);
+        ThreadPoolTaskExecutor executor = new AppConfiguration().retrievalExecutor(properties);
+        executor.initialize();
+        try {
+            return service(strategies, properties, executor, null, null).retrieveArticles(CONTEXT, 10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ranking as of {@link #LATEST}, over candidates that are already full articles.
+     */
+    private static ArticleRankingService ranking(AppProperties properties) {
+        ArticleHydrator hydrator = Mockito.mock(ArticleHydrator.class);
+        Mockito.when(hydrator.hydrate(Mockito.anyList())).thenAnswer(invocation -> {
+            List<ArticleCandidate> candidates = invocation.getArgument(0);
+            return candidates.stream().collect(Collectors.toMap(ArticleCandidate::getId, NewsArticle.class::cast));
+        });
+        return new ArticleRankingService(properties, Clock.fixed(LATEST.toInstant(), ZoneOffset.UTC), hydrator);
+    }
+
+    private static ArticleRetrievalService service(List<ArticleRetrievalStrategy> strategies, AppProperties properties,
+                                                   Executor executor, ArticleStatistics statistics,
+                                                   ArticleRankingService ranking) {
+        return service(strategies, properties, executor, null, statistics, ranking);
+    }
+
+    private static ArticleRetrievalService service(List<ArticleRetrievalStrategy> strategies, AppProperties properties,
+                                                   Executor executor, NewsArticleRepository repository,
+                                                   ArticleStatistics statistics, ArticleRankingService ranking) {
+        return new ArticleRetrievalService(strategies, properties, executor,
+            Mockito.mock(PlatformTransactionManager.class), repository,
+            new RetrievalPlanner(statistics, properties, ranking),
+            new FetchDepthController(properties, new SimpleMeterRegistry()), statistics, ranking);
+    }
+
+    private static ArticleRetrievalStrategy strategy(String name, long delayMillis, List<NewsArticle> articles) {
+        return new ArticleRetrievalStrategy() {
+            @Override
+            public boolean supports(RetrievalContext context) {
+                return true;
+            }
+
+            @Override
+            public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                List<RetrievedArticle> retrieved = new ArrayList<>();
+                for (int i = 0; i < articles.size(); i++) {
+                    retrieved.add(new RetrievedArticle(articles.get(i), name, 1.0 - i * 0.1));
+                }
+                return retrieved;
+            }
+
+            @Override
+            public String strategyName() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * A database-backed strategy: it only describes its candidate query, which the service runs.
+     */
+    private static ArticleRetrievalStrategy branched(String name, IntFunction<CandidateBranch> branch) {
+        return new ArticleRetrievalStrategy() {
+            @Override
+            public boolean supports(RetrievalContext context) {
+                return true;
+            }
+
+            @Override
+            public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+                throw new UnsupportedOperationException("answered from the candidate statement");
+            }
+
+            @Override
+            public String strategyName() {
+                return name;
+            }
+
+            @Override
+            public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+                return Optional.of(branch.apply(limit));
+            }
+        };
+    }
+
+    private static NewsArticle dated(String title, double relevance, OffsetDateTime publishedAt) {
+        return new NewsArticle(UUID.randomUUID(), title, null, null, publishedAt, "Reuters", relevance, 0.0, 0.0,
+            Set.of());
+    }
+}
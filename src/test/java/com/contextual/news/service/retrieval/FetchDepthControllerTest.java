@@ -0,0 +1,74 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.model.ArticleScore;
+import com.contextual.news.service.model.RetrievedArticle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class FetchDepthControllerTest {
+
+    private static final RetrievalContext CONTEXT = new RetrievalContext(null, ParsedQuery.fallback("markets"));
+
+    @Test
+    void shrinksTowardObservedDepthAndGrowsWhenThePageReachesTheEnd() {
+        AppProperties properties = new AppProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FetchDepthController controller = new FetchDepthController(properties, registry);
+        Assertions.assertThat(controller.fetchDepth("search", CONTEXT, 10)).isEqualTo(30);
+
+        for (int i = 0; i < 50; i++) {
+            controller.record("search", CONTEXT, 10, controller.fetchDepth("search", CONTEXT, 10), 4);
+        }
+        int settled = controller.fetchDepth("search", CONTEXT, 10);
+        Assertions.assertThat(settled).isEqualTo(10);
+
+        controller.record("search", CONTEXT, 10, settled, settled);
+        Assertions.assertThat(controller.fetchDepth("search", CONTEXT, 10)).isEqualTo(20);
+        Assertions.assertThat(registry.get("news.retrieval.fetch.multiplier")
+            .tag("strategy", "search").tag("intents", "search").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void recordsOutcomesAgainstTheDepthTheCandidatesWereFetchedAt() {
+        AppProperties properties = new AppProperties();
+        properties.retrieval().setAdaptiveFetch(true);
+        FetchDepthController controller = new FetchDepthController(properties, new SimpleMeterRegistry());
+        ArticleRetrievalService service = new ArticleRetrievalService(List.of(), properties, Runnable::run, null, null,
+            null, controller, null, null);
+
+        int fetched = controller.fetchDepth("search", CONTEXT, 10);
+        List<RetrievedArticle> retrieved = new ArrayList<>();
+        for (int rank = 1; rank <= fetched; rank++) {
+            retrieved.add(new RetrievedArticle(article(), "search", 1.0 / rank).withRank(rank, fetched));
+        }
+        // while this query ranked its page, others shrank the depth to a single page
+        for (int i = 0; i < 50; i++) {
+            controller.record("search", CONTEXT, 10, controller.fetchDepth("search", CONTEXT, 10), 1);
+        }
+        Assertions.assertThat(controller.fetchDepth("search", CONTEXT, 10)).isEqualTo(10);
+
+        List<ArticleScore> page = retrieved.subList(2, 12).stream()
+            .map(candidate -> new ArticleScore((NewsArticle) candidate.article(), candidate.primaryScore(), null,
+                "search", 0, 0, 0, 0))
+            .toList();
+        service.recordOutcome(CONTEXT, 10, retrieved, page);
+
+        // rank 12 of 30 fetched is well short of the end, so the depth only moves toward 12 * 1.5 rather than doubling
+        Assertions.assertThat(controller.fetchDepth("search", CONTEXT, 10)).isEqualTo(12);
+    }
+
+    private static NewsArticle article() {
+        return new NewsArticle(UUID.randomUUID(), "title", null, null, OffsetDateTime.parse("2025-03-20T00:00:00Z"),
+            "Reuters", 0.5, 0.0, 0.0, Set.of());
+    }
+}
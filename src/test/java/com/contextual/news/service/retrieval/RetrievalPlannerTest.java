@@ -0,0 +1,81 @@
+package com.contextual.news.service.retrieval;
+
+import com.contextual.news.config.AppProperties;
+import com.contextual.news.domain.query.ArticleFilter;
+import com.contextual.news.domain.query.CandidateBranch;
+import com.contextual.news.llm.model.ParsedQuery;
+import com.contextual.news.service.model.RetrievedArticle;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RetrievalPlannerTest {
+
+    private static final ArticleFilter SPORTS = ArticleFilter.none().withCategory("sports");
+    private static final RetrievalContext CONTEXT = new RetrievalContext(null, ParsedQuery.fallback("sports"));
+
+    @Test
+    void equivalentBranchesShareOneQueryWithTheLargestLimit() {
+        ArticleStatistics statistics = Mockito.mock(ArticleStatistics.class);
+        Mockito.when(statistics.estimate(Mockito.any())).thenReturn(OptionalLong.empty());
+        ArticleRetrievalStrategy category = strategy("category", CandidateBranch.byRelevance("category", SPORTS, 15));
+        ArticleRetrievalStrategy score = strategy("score", CandidateBranch.byRelevance("score", SPORTS, 30));
+        ArticleRetrievalStrategy search = strategy("search", CandidateBranch.fullText("search", SPORTS, "final", 15));
+        ArticleRetrievalStrategy index = strategy("index", null);
+
+        RetrievalPlan plan = new RetrievalPlanner(statistics, new AppProperties(), null).plan(List.of(category, score, search, index), CONTEXT, strategy -> 15);
+
+        Assertions.assertThat(plan.queries()).hasSize(2);
+        RetrievalPlan.PlannedQuery shared = plan.queries().get(0);
+        Assertions.assertThat(shared.members()).containsExactly(category, score);
+        Assertions.assertThat(shared.branch().strategy()).isEqualTo("category");
+        Assertions.assertThat(shared.branch().limit()).isEqualTo(30);
+        Assertions.assertThat(plan.standalone()).containsExactly(index);
+        Assertions.assertThat(plan.skipped()).isEmpty();
+    }
+
+    @Test
+    void skipsEmptyBranchesAndRunsTheMostSelectiveFirst() {
+        ArticleFilter reuters = ArticleFilter.none().withSource("Reuters");
+        ArticleFilter unknown = ArticleFilter.none().withCategory("curling");
+        ArticleStatistics statistics = Mockito.mock(ArticleStatistics.class);
+        Mockito.when(statistics.estimate(ArticleFilter.none())).thenReturn(OptionalLong.of(2_000));
+        Mockito.when(statistics.estimate(reuters)).thenReturn(OptionalLong.of(40));
+        Mockito.when(statistics.estimate(unknown)).thenReturn(OptionalLong.of(0));
+        ArticleRetrievalStrategy score = strategy("score", CandidateBranch.byRelevance("score", ArticleFilter.none(), 15));
+        ArticleRetrievalStrategy source = strategy("source", CandidateBranch.byRelevance("source", reuters, 15));
+        ArticleRetrievalStrategy category = strategy("category", CandidateBranch.byRelevance("category", unknown, 15));
+
+        RetrievalPlan plan = new RetrievalPlanner(statistics, new AppProperties(), null).plan(List.of(score, source, category), CONTEXT, strategy -> 15);
+
+        Assertions.assertThat(plan.queries()).extracting(query -> query.members().get(0)).containsExactly(source, score);
+        Assertions.assertThat(plan.skipped()).containsExactly(category);
+    }
+
+    private static ArticleRetrievalStrategy strategy(String name, CandidateBranch branch) {
+        return new ArticleRetrievalStrategy() {
+            @Override
+            public boolean supports(RetrievalContext context) {
+                return true;
+            }
+
+            @Override
+            public List<RetrievedArticle> retrieve(RetrievalContext context, int limit) {
+                return List.of();
+            }
+
+            @Override
+            public String strategyName() {
+                return name;
+            }
+
+            @Override
+            public Optional<CandidateBranch> candidateBranch(RetrievalContext context, int limit) {
+                return Optional.ofNullable(branch);
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.contextual.news.service.search;
+
+import com.contextual.news.domain.model.NewsArticle;
+import com.contextual.news.domain.query.ScoredArticle;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private static final String[] VOCABULARY = {
+        "election", "market", "cricket", "monsoon", "startup", "satellite", "vaccine", "budget",
+        "tariff", "stadium", "festival", "court", "railway", "airport", "drought", "summit"
+    };
+
+    private static List<NewsArticle> articles;
+    private static InvertedIndex index;
+
+    @BeforeAll
+    static void buildIndex() {
+        Random random = new Random(42);
+        articles = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            articles.add(new NewsArticle(UUID.randomUUID(), words(random, 2 + random.nextInt(6)),
+                words(random, 10 + random.nextInt(30)), null, OffsetDateTime.now(), "Source " + (i % 7),
+                random.nextDouble(), 0.0, 0.0, Set.of()));
+        }
+        index = InvertedIndex.build(articles, 1.2, 0.75, 2);
+    }
+
+    @Test
+    void prunedTopKMatchesExhaustiveRanking() {
+        for (String query : List.of("cricket stadium", "market budget tariff", "vaccine", "monsoon drought railway airport")) {
+            List<ScoredArticle> exhaustive = index.search(query, doc -> true, articles.size());
+            List<ScoredArticle> topTen = index.search(query, doc -> true, 10);
+
+            Assertions.assertThat(topTen).hasSize(10);
+            Assertions.assertThat(topTen).extracting(ScoredArticle::article)
+                .containsExactlyElementsOf(exhaustive.subList(0, 10).stream().map(ScoredArticle::article).toList());
+        }
+    }
+
+    @Test
+    void appliesFilterBeforeTopK() {
+        List<ScoredArticle> filtered = index.search("election court", doc -> doc % 3 == 0, 25);
+        List<ScoredArticle> exhaustive = index.search("election court", doc -> true, articles.size()).stream()
+            .filter(hit -> articles.indexOf(hit.article()) % 3 == 0)
+            .limit(25)
+            .toList();
+
+        Assertions.assertThat(filtered).extracting(ScoredArticle::article)
+            .containsExactlyElementsOf(exhaustive.stream().map(ScoredArticle::article).toList());
+    }
+
+    @Test
+    void ignoresUnknownTerms() {
+        Assertions.assertThat(index.search("zeppelin", doc -> true, 5)).isEmpty();
+        Assertions.assertThat(index.search("zeppelin festival", doc -> true, 5)).hasSize(5);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // skewed draw so a few terms have long posting lists spanning many skip blocks
+            int position = (int) Math.min(VOCABULARY.length - 1, Math.abs(random.nextGaussian()) * 5);
+            text.append(VOCABULARY[position]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.contextual.news.service.spatial;
+
+import com.contextual.news.service.util.GeoUtils;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SpatialGridIndexTest {
+
+    @Test
+    void radiusQueryMatchesBruteForceIncludingAntimeridianAndPoles() {
+        Random random = new Random(7);
+        int count = 5_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = -90.0 + random.nextDouble() * 180.0;
+            longitudes[i] = -180.0 + random.nextDouble() * 360.0;
+        }
+        SpatialGridIndex index = SpatialGridIndex.build(latitudes, longitudes, 0.7);
+
+        double[][] origins = {{0.0, 179.9}, {-12.5, -179.95}, {88.5, 10.0}, {-89.9, 0.0}, {37.42, -122.08}};
+        for (double[] origin : origins) {
+            for (double radius : new double[] {50.0, 400.0, 2_500.0}) {
+                List<Integer> expected = bruteForce(latitudes, longitudes, origin[0], origin[1], radius);
+                SpatialGridIndex.Neighbours actual = index.withinRadius(origin[0], origin[1], radius, id -> true);
+
+                Assertions.assertThat(IntStream.range(0, actual.size()).map(actual::id).boxed().toList())
+                    .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void nearestReturnsClosestPointsInDistanceOrder() {
+        double[] latitudes = {10.0, 10.0, 10.5, 11.0, 30.0};
+        double[] longitudes = {179.95, -179.9, 179.0, -179.0, 0.0};
+        SpatialGridIndex index = SpatialGridIndex.build(latitudes, longitudes, 0.5);
+
+        SpatialGridIndex.Neighbours nearest = index.nearest(10.0, 180.0, 3, 1_000.0, id -> true);
+
+        Assertions.assertThat(IntStream.range(0, nearest.size()).map(nearest::id).boxed().toList())
+            .containsExactly(0, 1, 2);
+        Assertions.assertThat(index.nearest(10.0, 180.0, 3, 1_000.0, id -> id != 0).size()).isEqualTo(3);
+        Assertions.assertThat(index.nearest(10.0, 180.0, 10, 1_000.0, id -> true).size()).isEqualTo(4);
+    }
+
+    private static List<Integer> bruteForce(double[] latitudes, double[] longitudes, double lat, double lon, double radius) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            if (GeoUtils.distanceKm(lat, lon, latitudes[i], longitudes[i]) <= radius) {
+                ids.add(i);
+            }
+        }
+        ids.sort(Comparator.<Integer>comparingDouble(i -> GeoUtils.distanceKm(lat, lon, latitudes[i], longitudes[i]))
+            .thenComparingInt(i -> i));
+        return ids;
+    }
+}